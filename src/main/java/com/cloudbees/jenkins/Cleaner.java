@@ -3,19 +3,27 @@ package com.cloudbees.jenkins;
 import hudson.Extension;
 import hudson.model.Item;
 import hudson.model.PeriodicWork;
-import jenkins.model.Jenkins;
+import hudson.security.ACL;
+import hudson.security.ACLContext;
+import hudson.util.DaemonThreadFactory;
+import hudson.util.NamingThreadFactory;
 import org.jenkinsci.plugins.github.GitHubPlugin;
+import org.jenkinsci.plugins.github.config.GitHubPluginConfig;
+import org.jenkinsci.plugins.github.internal.GitHubRepositoryJobIndex;
 import org.jenkinsci.plugins.github.webhook.WebhookManager;
 
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
-import java.util.Queue;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
-
-import static org.jenkinsci.plugins.github.util.FluentIterableWrapper.from;
-import static org.jenkinsci.plugins.github.util.JobInfoHelpers.associatedNames;
-import static org.jenkinsci.plugins.github.util.JobInfoHelpers.isAlive;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Removes post-commit hooks from repositories that we no longer care.
@@ -27,20 +35,46 @@ import static org.jenkinsci.plugins.github.util.JobInfoHelpers.isAlive;
 @Extension
 public class Cleaner extends PeriodicWork {
     /**
-     * Queue contains repo names prepared to cleanup.
+     * Queue contains repo names prepared to cleanup with time they were first queued.
      * After configure method on job, trigger calls {@link #onStop(Item)}
      * which converts to repo names with help of contributors.
      *
-     * This queue is thread-safe, so any thread can write or
+     * Each repo is queued only once till the next run, no matter how many triggers were stopped.
+     * This map is thread-safe, so any thread can write or
      * fetch names to this queue without additional sync
      */
-    private final Queue<GitHubRepositoryName> cleanQueue = new ConcurrentLinkedQueue<>();
+    private final ConcurrentMap<GitHubRepositoryName, Long> cleanQueue = new ConcurrentHashMap<>();
+
+    private final AtomicLong cleaned = new AtomicLong();
 
     /**
      * Called when a {@link GitHubPushTrigger} is about to be removed.
+     * Queues current repos of the item together with the ones it was indexed with,
+     * as names of the job can change before the trigger is stopped (e.g. on configuration submit)
      */
     /* package */ void onStop(Item item) {
-        cleanQueue.addAll(GitHubRepositoryNameContributor.parseAssociatedNames(item));
+        enqueue(GitHubRepositoryNameContributor.parseAssociatedNames(item));
+        GitHubRepositoryJobIndex index = GitHubRepositoryJobIndex.get();
+        if (index != null) {
+            enqueue(index.indexedRepositoriesOf(item.getFullName()));
+        }
+    }
+
+    private void enqueue(Collection<GitHubRepositoryName> names) {
+        Long now = System.currentTimeMillis();
+        for (GitHubRepositoryName name : names) {
+            cleanQueue.putIfAbsent(name, now);
+        }
+    }
+
+    /**
+     * Repo is alive if any item some {@link org.jenkinsci.plugins.github.extension.GHEventsSubscriber}
+     * is applicable for is associated with it. Only the queued repo is looked up in {@link GitHubRepositoryJobIndex},
+     * which is built once and then maintained incrementally, so hooks are deleted only if no subscriber needs them
+     */
+    /* package */ boolean isAlive(GitHubRepositoryName name) {
+        GitHubRepositoryJobIndex index = GitHubRepositoryJobIndex.get();
+        return index != null && index.isSubscribed(name);
     }
 
     @Override
@@ -49,9 +83,11 @@ public class Cleaner extends PeriodicWork {
     }
 
     /**
-     * Each run this work fetches alive repo names (which has trigger for it)
-     * then if names queue is not empty (any job was reconfigured with GH trigger change),
-     * next name passed to {@link WebhookManager} with list of active names to check and unregister old hooks
+     * Each run this work checks queued names (any job was reconfigured with GH trigger change)
+     * against alive repo names (which has any item with subscriber for it),
+     * then each name passed to {@link WebhookManager} to check and unregister old hooks.
+     * Repos are processed in parallel, limited by {@link GitHubPluginConfig#getMaxConcurrentGitHubCalls()}.
+     * Repos queued while the run is in progress are left for the next run
      */
     @Override
     protected void doRun() throws Exception {
@@ -61,15 +97,73 @@ public class Cleaner extends PeriodicWork {
 
         URL url = GitHubPlugin.configuration().getHookUrl();
 
-        List<GitHubRepositoryName> aliveRepos = from(Jenkins.get().allItems(Item.class))
-                .filter(isAlive())  // live repos
-                .transformAndConcat(associatedNames()).toList();
+        List<GitHubRepositoryName> names = new ArrayList<>();
+        for (Map.Entry<GitHubRepositoryName, Long> entry : cleanQueue.entrySet()) {
+            if (cleanQueue.remove(entry.getKey(), entry.getValue())) {
+                names.add(entry.getKey());
+            }
+        }
+        if (names.isEmpty()) {
+            return;
+        }
 
-        while (!cleanQueue.isEmpty()) {
-            GitHubRepositoryName name = cleanQueue.poll();
+        int threads = Math.min(names.size(), GitHubPlugin.configuration().getMaxConcurrentGitHubCalls());
+        ExecutorService executor = Executors.newFixedThreadPool(threads,
+                new NamingThreadFactory(new DaemonThreadFactory(), Cleaner.class.getSimpleName()));
+        try {
+            for (GitHubRepositoryName name : names) {
+                executor.execute(() -> clean(url, name));
+            }
+        } finally {
+            executor.shutdown();
+        }
+        executor.awaitTermination(getRecurrencePeriod(), TimeUnit.MILLISECONDS);
+    }
 
+    private void clean(URL url, GitHubRepositoryName name) {
+        if (WebhookManager.isCoveredByOrganizationHook(name)) {
+            // organization webhook is kept while any repository of organization is alive,
+            // hooks of the repository itself are redundant with it
+            try (ACLContext ctx = ACL.as2(ACL.SYSTEM2)) {
+                WebhookManager.forHookUrl(url).unregisterCoveredByOrganizationHook(name);
+            }
+            cleaned.incrementAndGet();
+            return;
+        }
+
+        try (ACLContext ctx = ACL.as2(ACL.SYSTEM2)) {
+            List<GitHubRepositoryName> aliveRepos = isAlive(name)
+                    ? Collections.singletonList(name)
+                    : Collections.<GitHubRepositoryName>emptyList();
             WebhookManager.forHookUrl(url).unregisterFor(name, aliveRepos);
         }
+        cleaned.incrementAndGet();
+    }
+
+    /**
+     * @return number of repos waiting for cleanup
+     */
+    public int getQueueSize() {
+        return cleanQueue.size();
+    }
+
+    /**
+     * @return millis since the oldest waiting repo was queued, 0 if queue is empty
+     */
+    public long getQueueAgeMillis() {
+        long now = System.currentTimeMillis();
+        long oldest = now;
+        for (Long queued : cleanQueue.values()) {
+            oldest = Math.min(oldest, queued);
+        }
+        return now - oldest;
+    }
+
+    /**
+     * @return number of repos checked for redundant hooks since start
+     */
+    public long getCleanedCount() {
+        return cleaned.get();
     }
 
     public static Cleaner get() {
@@ -12,29 +12,35 @@ import hudson.model.Action;
 import hudson.model.Item;
 import hudson.model.Job;
 import hudson.model.Project;
-import hudson.triggers.SCMTrigger;
+import hudson.model.Saveable;
+import hudson.model.listeners.SaveableListener;
 import hudson.triggers.Trigger;
 import hudson.triggers.TriggerDescriptor;
 import hudson.util.FormValidation;
 import hudson.util.NamingThreadFactory;
-import hudson.util.SequentialExecutionQueue;
 import hudson.util.StreamTaskListener;
 import jenkins.model.Jenkins;
 import jenkins.model.ParameterizedJobMixIn;
 import jenkins.scm.api.SCMEvent;
 import jenkins.triggers.SCMTriggerItem;
 import jenkins.triggers.SCMTriggerItem.SCMTriggerItems;
+import jenkins.util.Timer;
 import org.apache.commons.jelly.XMLOutput;
 import org.jenkinsci.plugins.github.GitHubPlugin;
 import org.jenkinsci.plugins.github.admin.GitHubHookRegisterProblemMonitor;
 import org.jenkinsci.plugins.github.config.GitHubPluginConfig;
+import org.jenkinsci.plugins.github.config.PollingRejectionPolicy;
 import org.jenkinsci.plugins.github.internal.GHPluginConfigException;
+import org.jenkinsci.plugins.github.internal.PollingCoalescer;
+import org.jenkinsci.plugins.github.internal.PollingDebouncer;
+import org.jenkinsci.plugins.github.internal.VirtualThreads;
 import org.jenkinsci.plugins.github.migration.Migrator;
 import org.jenkinsci.Symbol;
 import org.kohsuke.accmod.Restricted;
 import org.kohsuke.accmod.restrictions.NoExternalUse;
 import org.kohsuke.stapler.AncestorInPath;
 import org.kohsuke.stapler.DataBoundConstructor;
+import org.kohsuke.stapler.DataBoundSetter;
 import org.kohsuke.stapler.Stapler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -43,6 +49,7 @@ import edu.umd.cs.findbugs.annotations.NonNull;
 import jakarta.inject.Inject;
 import java.io.File;
 import java.io.IOException;
+import java.io.ObjectStreamException;
 import java.io.PrintStream;
 import java.net.MalformedURLException;
 import java.net.URL;
@@ -50,15 +57,23 @@ import java.text.DateFormat;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor.AbortPolicy;
+import java.util.concurrent.TimeUnit;
 
 import static org.apache.commons.lang3.StringUtils.isEmpty;
 import static org.apache.commons.lang3.Validate.notNull;
 import static org.jenkinsci.plugins.github.util.JobInfoHelpers.asParameterizedJobMixIn;
+import static org.jenkinsci.plugins.github.util.JobInfoHelpers.triggerFrom;
 
 /**
  * Triggers a build when we receive a GitHub post-commit webhook.
@@ -67,10 +82,67 @@ import static org.jenkinsci.plugins.github.util.JobInfoHelpers.asParameterizedJo
  */
 public class GitHubPushTrigger extends Trigger<Job<?, ?>> implements GitHubTrigger {
 
+    /**
+     * Default limit of delay of debounced poll since the first event of series
+     */
+    public static final int DEFAULT_DEBOUNCE_MAX_WAIT_SECONDS = 300;
+
+    /**
+     * Seconds without new events to wait before polling, 0 to poll on every event
+     */
+    private int debounceSeconds;
+
+    private int debounceMaxWaitSeconds = DEFAULT_DEBOUNCE_MAX_WAIT_SECONDS;
+
     @DataBoundConstructor
     public GitHubPushTrigger() {
     }
 
+    /**
+     * @since 1.48.0
+     */
+    public int getDebounceSeconds() {
+        return debounceSeconds;
+    }
+
+    /**
+     * @param debounceSeconds seconds without new events to wait before polling, 0 or less to poll on every event
+     * @since 1.48.0
+     */
+    @DataBoundSetter
+    public void setDebounceSeconds(int debounceSeconds) {
+        this.debounceSeconds = Math.max(0, debounceSeconds);
+    }
+
+    /**
+     * @since 1.48.0
+     */
+    public int getDebounceMaxWaitSeconds() {
+        return debounceMaxWaitSeconds;
+    }
+
+    /**
+     * @param debounceMaxWaitSeconds max delay of poll since the first of debounced events, default is used if &lt;= 0
+     * @since 1.48.0
+     */
+    @DataBoundSetter
+    public void setDebounceMaxWaitSeconds(int debounceMaxWaitSeconds) {
+        this.debounceMaxWaitSeconds = debounceMaxWaitSeconds > 0
+                ? debounceMaxWaitSeconds
+                : DEFAULT_DEBOUNCE_MAX_WAIT_SECONDS;
+    }
+
+    /**
+     * Fills defaults for triggers saved before debounce was introduced
+     */
+    protected Object readResolve() throws ObjectStreamException {
+        super.readResolve();
+        if (debounceMaxWaitSeconds <= 0) {
+            debounceMaxWaitSeconds = DEFAULT_DEBOUNCE_MAX_WAIT_SECONDS;
+        }
+        return this;
+    }
+
     /**
      * Called when a POST is made.
      */
@@ -102,71 +174,122 @@ public class GitHubPushTrigger extends Trigger<Job<?, ?>> implements GitHubTrigg
 
         Job<?, ?> currentJob = notNull(job, "Job can't be null");
 
-        final String pushBy = event.getTriggeredByUser();
         DescriptorImpl d = getDescriptor();
-        d.checkThreadPoolSizeAndUpdateIfNecessary();
-        d.queue.execute(new Runnable() {
-            private boolean runPolling() {
-                try {
-                    StreamTaskListener listener = new StreamTaskListener(getLogFileForJob(currentJob));
-
-                    try {
-                        PrintStream logger = listener.getLogger();
-
-                        long start = System.currentTimeMillis();
-                        logger.println("Started on " + DateFormat.getDateTimeInstance().format(new Date()));
-                        if (event.getOrigin() != null) {
-                            logger.format("Started by event from %s on %tc%n", event.getOrigin(), event.getTimestamp());
-                        }
-                        SCMTriggerItem item = SCMTriggerItems.asSCMTriggerItem(currentJob);
-                        if (null == item) {
-                            throw new IllegalStateException("Job is not an SCMTriggerItem: " + currentJob);
-                        }
-                        boolean result = item.poll(listener).hasChanges();
-                        logger.println("Done. Took " + Util.getTimeSpanString(System.currentTimeMillis() - start));
-                        if (result) {
-                            logger.println("Changes found");
+        if (debounceSeconds > 0) {
+            d.debouncer.submit(currentJob.getFullName(), event,
+                    TimeUnit.SECONDS.toMillis(debounceSeconds), TimeUnit.SECONDS.toMillis(debounceMaxWaitSeconds),
+                    events -> {
+                        if (isTriggerOf(currentJob)) {
+                            submitPoll(currentJob, events);
                         } else {
-                            logger.println("No changes");
+                            LOGGER.debug("{} was removed or reconfigured, skipped debounced polling for {} events",
+                                    currentJob.getFullName(), events.size());
                         }
-                        return result;
-                    } catch (Error e) {
-                        e.printStackTrace(listener.error("Failed to record SCM polling"));
-                        LOGGER.error("Failed to record SCM polling", e);
-                        throw e;
-                    } catch (RuntimeException e) {
-                        e.printStackTrace(listener.error("Failed to record SCM polling"));
-                        LOGGER.error("Failed to record SCM polling", e);
-                        throw e;
-                    } finally {
-                        listener.close();
-                    }
-                } catch (IOException e) {
-                    LOGGER.error("Failed to record SCM polling", e);
-                }
-                return false;
+                    });
+        } else {
+            submitPoll(currentJob, Collections.singletonList(event));
+        }
+    }
+
+    /**
+     * @return true if the job still exists and this trigger is its current trigger
+     */
+    private boolean isTriggerOf(Job<?, ?> currentJob) {
+        Jenkins jenkins = Jenkins.getInstanceOrNull();
+        return jenkins != null
+                && jenkins.getItemByFullName(currentJob.getFullName(), Job.class) == currentJob
+                && triggerFrom((Item) currentJob, GitHubPushTrigger.class) == this;
+    }
+
+    /**
+     * Passes events to the polling executor, merging them with already pending poll of the job if any
+     */
+    private void submitPoll(Job<?, ?> currentJob, List<GitHubTriggerEvent> events) {
+        DescriptorImpl d = getDescriptor();
+        d.coalescer.submit(currentJob.getFullName(), events, merged -> poll(currentJob, merged), d::execute);
+    }
+
+    /**
+     * Polls the job once for all given events and schedules a build if changes found
+     *
+     * @param currentJob job to poll
+     * @param events     events received since the previous poll of the job
+     */
+    private void poll(Job<?, ?> currentJob, List<GitHubTriggerEvent> events) {
+        if (runPolling(currentJob, events)) {
+            String pushBy = pushersOf(events);
+            GitHubPushCause cause;
+            try {
+                cause = new GitHubPushCause(getLogFileForJob(currentJob), pushBy);
+            } catch (IOException e) {
+                LOGGER.warn("Failed to parse the polling log", e);
+                cause = new GitHubPushCause(pushBy);
             }
 
-            public void run() {
-                if (runPolling()) {
-                    GitHubPushCause cause;
-                    try {
-                        cause = new GitHubPushCause(getLogFileForJob(currentJob), pushBy);
-                    } catch (IOException e) {
-                        LOGGER.warn("Failed to parse the polling log", e);
-                        cause = new GitHubPushCause(pushBy);
-                    }
+            if (asParameterizedJobMixIn(currentJob).scheduleBuild(cause)) {
+                LOGGER.info("SCM changes detected in " + currentJob.getFullName()
+                        + ". Triggering #" + currentJob.getNextBuildNumber());
+            } else {
+                LOGGER.info("SCM changes detected in " + currentJob.getFullName()
+                        + ". Job is already in the queue");
+            }
+        }
+    }
+
+    private boolean runPolling(Job<?, ?> currentJob, List<GitHubTriggerEvent> events) {
+        try {
+            StreamTaskListener listener = new StreamTaskListener(getLogFileForJob(currentJob));
+
+            try {
+                PrintStream logger = listener.getLogger();
 
-                    if (asParameterizedJobMixIn(currentJob).scheduleBuild(cause)) {
-                        LOGGER.info("SCM changes detected in " + currentJob.getFullName()
-                                + ". Triggering #" + currentJob.getNextBuildNumber());
-                    } else {
-                        LOGGER.info("SCM changes detected in " + currentJob.getFullName()
-                                + ". Job is already in the queue");
+                long start = System.currentTimeMillis();
+                logger.println("Started on " + DateFormat.getDateTimeInstance().format(new Date()));
+                for (GitHubTriggerEvent event : events) {
+                    if (event.getOrigin() != null) {
+                        logger.format("Started by event from %s on %tc%n", event.getOrigin(), event.getTimestamp());
                     }
                 }
+                SCMTriggerItem item = SCMTriggerItems.asSCMTriggerItem(currentJob);
+                if (null == item) {
+                    throw new IllegalStateException("Job is not an SCMTriggerItem: " + currentJob);
+                }
+                boolean result = item.poll(listener).hasChanges();
+                logger.println("Done. Took " + Util.getTimeSpanString(System.currentTimeMillis() - start));
+                if (result) {
+                    logger.println("Changes found");
+                } else {
+                    logger.println("No changes");
+                }
+                return result;
+            } catch (Error e) {
+                e.printStackTrace(listener.error("Failed to record SCM polling"));
+                LOGGER.error("Failed to record SCM polling", e);
+                throw e;
+            } catch (RuntimeException e) {
+                e.printStackTrace(listener.error("Failed to record SCM polling"));
+                LOGGER.error("Failed to record SCM polling", e);
+                throw e;
+            } finally {
+                listener.close();
             }
-        });
+        } catch (IOException e) {
+            LOGGER.error("Failed to record SCM polling", e);
+        }
+        return false;
+    }
+
+    /**
+     * @return distinct users who triggered events, comma separated, or null if unknown
+     */
+    private static String pushersOf(List<GitHubTriggerEvent> events) {
+        Set<String> pushers = new LinkedHashSet<>();
+        for (GitHubTriggerEvent event : events) {
+            if (event.getTriggeredByUser() != null) {
+                pushers.add(event.getTriggeredByUser());
+            }
+        }
+        return pushers.isEmpty() ? null : String.join(", ", pushers);
     }
 
     /**
@@ -220,6 +343,11 @@ public class GitHubPushTrigger extends Trigger<Job<?, ?>> implements GitHubTrigg
             return;
         }
 
+        int dropped = getDescriptor().debouncer.cancel(job.getFullName());
+        if (dropped > 0) {
+            LOGGER.debug("Trigger of {} is stopped, dropped {} debounced events", job.getFullName(), dropped);
+        }
+
         if (GitHubPlugin.configuration().isManageHooks()) {
             Cleaner cleaner = Cleaner.get();
             if (cleaner != null) {
@@ -288,8 +416,20 @@ public class GitHubPushTrigger extends Trigger<Job<?, ?>> implements GitHubTrigg
     @Extension
     @Symbol("githubPush")
     public static class DescriptorImpl extends TriggerDescriptor {
-        private final transient SequentialExecutionQueue queue =
-                new SequentialExecutionQueue(Executors.newSingleThreadExecutor(threadFactory()));
+        private final transient PollingCoalescer coalescer = new PollingCoalescer();
+
+        private final transient PollingDebouncer debouncer = new PollingDebouncer(Timer.get());
+
+        /**
+         * Created on first poll and replaced on save of {@link GitHubPluginConfig} if polling settings changed
+         */
+        private transient ThreadPoolExecutor pollingExecutor;
+
+        private transient boolean pollingVirtualThreads;
+
+        private transient int pollingQueueCapacity;
+
+        private transient boolean pollingCallerRuns;
 
         private transient String hookUrl;
 
@@ -298,30 +438,107 @@ public class GitHubPushTrigger extends Trigger<Job<?, ?>> implements GitHubTrigg
         @Inject
         private transient GitHubHookRegisterProblemMonitor monitor;
 
-        @Inject
-        private transient SCMTrigger.DescriptorImpl scmTrigger;
-
-        private transient int maximumThreads = Integer.MIN_VALUE;
+        /**
+         * Runs poll in current polling executor. Submits under the same lock as
+         * {@link #reconfigurePolling(GitHubPluginConfig)}, so the executor can't be shut down between its lookup
+         * and the submit, and rejection always means the queue is full. With caller-runs policy the poll
+         * is run after the lock is released
+         *
+         * @throws RejectedExecutionException if queue is full and polls should be discarded
+         */
+        private void execute(Runnable poll) {
+            synchronized (this) {
+                try {
+                    pollingExecutor().execute(poll);
+                    return;
+                } catch (RejectedExecutionException e) {
+                    if (!pollingCallerRuns) {
+                        throw e;
+                    }
+                }
+            }
+            LOGGER.debug("Polling queue is full, polling in the thread which received the event");
+            poll.run();
+        }
 
-        public DescriptorImpl() {
-            checkThreadPoolSizeAndUpdateIfNecessary();
+        private synchronized ThreadPoolExecutor pollingExecutor() {
+            if (pollingExecutor == null) {
+                pollingExecutor = createPollingExecutor(GitHubPlugin.configuration());
+            }
+            return pollingExecutor;
         }
 
         /**
-         * Update the {@link java.util.concurrent.ExecutorService} instance.
+         * Replaces polling executor if its settings were changed.
+         * Polls already queued in previous one are still processed by its threads
          */
         /*package*/
-        synchronized void checkThreadPoolSizeAndUpdateIfNecessary() {
-            if (scmTrigger != null) {
-                int count = scmTrigger.getPollingThreadCount();
-                if (maximumThreads != count) {
-                    maximumThreads = count;
-                    queue.setExecutors(
-                            (count == 0
-                                    ? Executors.newCachedThreadPool(threadFactory())
-                                    : Executors.newFixedThreadPool(maximumThreads, threadFactory())));
-                }
+        synchronized void reconfigurePolling(GitHubPluginConfig config) {
+            if (pollingExecutor == null || pollingExecutorMatches(config)) {
+                return;
             }
+            LOGGER.debug("Polling settings changed, replacing polling executor");
+            pollingExecutor.shutdown();
+            pollingExecutor = createPollingExecutor(config);
+        }
+
+        private boolean pollingExecutorMatches(GitHubPluginConfig config) {
+            return pollingExecutor.getMaximumPoolSize() == config.getPollingThreads()
+                    && pollingQueueCapacity == config.getPollingQueueCapacity()
+                    && pollingCallerRuns == (config.getPollingRejectionPolicy() == PollingRejectionPolicy.CALLER_RUNS)
+                    && pollingVirtualThreads == config.isPollingVirtualThreads();
+        }
+
+        /**
+         * Executor always aborts rejected polls, caller-runs policy is applied by {@link #execute(Runnable)}
+         */
+        private ThreadPoolExecutor createPollingExecutor(GitHubPluginConfig config) {
+            pollingVirtualThreads = config.isPollingVirtualThreads();
+            pollingQueueCapacity = config.getPollingQueueCapacity();
+            pollingCallerRuns = config.getPollingRejectionPolicy() == PollingRejectionPolicy.CALLER_RUNS;
+            ThreadFactory factory = pollingVirtualThreads ? VirtualThreads.factory("GitHubPushTrigger") : null;
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                    config.getPollingThreads(), config.getPollingThreads(), 60L, TimeUnit.SECONDS,
+                    pollingQueueCapacity > 0
+                            ? new ArrayBlockingQueue<Runnable>(pollingQueueCapacity)
+                            : new LinkedBlockingQueue<Runnable>(),
+                    factory != null ? factory : threadFactory(),
+                    new AbortPolicy()
+            );
+            executor.allowCoreThreadTimeOut(true);
+            return executor;
+        }
+
+        /**
+         * @return number of polls waiting for a thread
+         * @since 1.48.0
+         */
+        public synchronized int getPollingQueueLength() {
+            return pollingExecutor == null ? 0 : pollingExecutor.getQueue().size();
+        }
+
+        /**
+         * @return number of threads currently polling
+         * @since 1.48.0
+         */
+        public synchronized int getPollingActiveThreads() {
+            return pollingExecutor == null ? 0 : pollingExecutor.getActiveCount();
+        }
+
+        /**
+         * @return merger of events into pending polls, for statistics
+         */
+        @Restricted(NoExternalUse.class)
+        public PollingCoalescer getCoalescer() {
+            return coalescer;
+        }
+
+        /**
+         * @return delayer of polls of triggers with debounce window, for statistics
+         */
+        @Restricted(NoExternalUse.class)
+        public PollingDebouncer getDebouncer() {
+            return debouncer;
         }
 
         @Override
@@ -414,6 +631,24 @@ public class GitHubPushTrigger extends Trigger<Job<?, ?>> implements GitHubTrigg
             return new XmlFile(Jenkins.XSTREAM2, super.getConfigFile().getFile());
         }
 
+        /**
+         * @return merger of events for polls, to observe how many events were coalesced
+         * @since 1.48.0
+         */
+        @Restricted(NoExternalUse.class)
+        public PollingCoalescer getCoalescer() {
+            return coalescer;
+        }
+
+        /**
+         * @return scheduler of debounced polls
+         * @since 1.48.0
+         */
+        @Restricted(NoExternalUse.class)
+        public PollingDebouncer getDebouncer() {
+            return debouncer;
+        }
+
         public static DescriptorImpl get() {
             return Trigger.all().get(DescriptorImpl.class);
         }
@@ -459,6 +694,23 @@ public class GitHubPushTrigger extends Trigger<Job<?, ?>> implements GitHubTrigg
         }
     }
 
+    /**
+     * Applies polling settings of {@link GitHubPluginConfig} on its save
+     */
+    @Extension
+    @Restricted(NoExternalUse.class)
+    public static class PollingConfigListener extends SaveableListener {
+        @Override
+        public void onChange(Saveable o, XmlFile file) {
+            if (o instanceof GitHubPluginConfig) {
+                DescriptorImpl descriptor = DescriptorImpl.get();
+                if (descriptor != null) {
+                    descriptor.reconfigurePolling((GitHubPluginConfig) o);
+                }
+            }
+        }
+    }
+
     /**
      * Set to false to prevent the user from overriding the hook URL.
      */
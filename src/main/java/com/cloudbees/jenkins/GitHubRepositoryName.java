@@ -9,11 +9,11 @@ import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.jenkinsci.plugins.github.GitHubPlugin;
 import org.jenkinsci.plugins.github.config.GitHubServerConfig;
+import org.jenkinsci.plugins.github.internal.GitHubRepositoryCache;
 import org.jenkinsci.plugins.github.util.misc.NullSafeFunction;
 import org.kohsuke.github.GHCommitPointer;
 import org.kohsuke.github.GHRepository;
 import org.kohsuke.github.GHUser;
-import org.kohsuke.github.GitHub;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -23,12 +23,9 @@ import java.io.IOException;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-import static com.google.common.base.Predicates.and;
 import static com.google.common.base.Predicates.notNull;
-import static java.lang.String.format;
 import static org.apache.commons.lang3.StringUtils.trimToEmpty;
 import static org.apache.commons.lang3.builder.ToStringStyle.SHORT_PREFIX_STYLE;
-import static org.jenkinsci.plugins.github.config.GitHubServerConfig.withHost;
 import static org.jenkinsci.plugins.github.util.FluentIterableWrapper.from;
 
 /**
@@ -144,13 +141,18 @@ public class GitHubRepositoryName {
      *
      * Since the system can store multiple credentials,
      * and only some of them might be able to see this name in question,
-     * this method uses {@link org.jenkinsci.plugins.github.config.GitHubPluginConfig#findGithubConfig(Predicate)}
+     * this method walks configs of the repository host and owner
+     * ({@link org.jenkinsci.plugins.github.config.GitHubPluginConfig#configsFor(String, String)})
      * and attempt to find the right credential that can
      * access this repository.
      *
-     * Any predicate as argument will be combined with {@link GitHubServerConfig#withHost(String)} to find only
+     * Any predicate as argument will be applied to these configs to find only
      * corresponding for this repo name authenticated github repository
      *
+     * Repositories are resolved through {@link GitHubRepositoryCache}, so the same repository is not fetched again
+     * for each call, configs which recently got 404 or 403 for it are skipped
+     * and the config which last succeeded with it is tried first.
+     *
      * This method walks multiple repositories for each credential that can access the repository. Depending on
      * what you are trying to do with the repository, you might have to keep trying until a {@link GHRepository}
      * with suitable permission is returned.
@@ -161,7 +163,8 @@ public class GitHubRepositoryName {
      * @since 1.13.0
      */
     public Iterable<GHRepository> resolve(Predicate<GitHubServerConfig> predicate) {
-        return from(GitHubPlugin.configuration().findGithubConfig(and(withHost(host), predicate)))
+        return from(GitHubRepositoryCache.preferKnown(this, GitHubPlugin.configuration().configsFor(host, userName)))
+                .filter(predicate)
                 .transform(toGHRepository(this))
                 .filter(notNull());
     }
@@ -219,16 +222,11 @@ public class GitHubRepositoryName {
                 .append("host", host).append("username", userName).append("repository", repositoryName).build();
     }
 
-    private static Function<GitHub, GHRepository> toGHRepository(final GitHubRepositoryName repoName) {
-        return new NullSafeFunction<GitHub, GHRepository>() {
+    private static Function<GitHubServerConfig, GHRepository> toGHRepository(final GitHubRepositoryName repoName) {
+        return new NullSafeFunction<GitHubServerConfig, GHRepository>() {
             @Override
-            protected GHRepository applyNullSafe(@NonNull GitHub gitHub) {
-                try {
-                    return gitHub.getRepository(format("%s/%s", repoName.getUserName(), repoName.getRepositoryName()));
-                } catch (IOException e) {
-                    LOGGER.warn("Failed to obtain repository {}", this, e);
-                    return null;
-                }
+            protected GHRepository applyNullSafe(@NonNull GitHubServerConfig config) {
+                return GitHubRepositoryCache.get(config, repoName);
             }
         };
     }
@@ -17,6 +17,7 @@ import jenkins.triggers.SCMTriggerItem;
 import jenkins.triggers.SCMTriggerItem.SCMTriggerItems;
 import org.eclipse.jgit.transport.RemoteConfig;
 import org.eclipse.jgit.transport.URIish;
+import org.jenkinsci.plugins.github.internal.AssociatedNamesCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -110,7 +111,19 @@ public abstract class GitHubRepositoryNameContributor implements ExtensionPoint
         return parseAssociatedNames((Item) job);
     }
 
+    /**
+     * Collects names from all contributors. Result is memoized per item till its next configuration change
+     * (see {@link AssociatedNamesCache}), so it is cheap to call it frequently.
+     *
+     * @param item the item.
+     *
+     * @return immutable collection of repositories associated with item
+     */
     public static Collection<GitHubRepositoryName> parseAssociatedNames(Item item) {
+        return AssociatedNamesCache.get(item, GitHubRepositoryNameContributor::collectAssociatedNames);
+    }
+
+    private static Set<GitHubRepositoryName> collectAssociatedNames(Item item) {
         Set<GitHubRepositoryName> names = new HashSet<GitHubRepositoryName>();
         for (GitHubRepositoryNameContributor c : all()) {
             c.parseAssociatedNames(item, names);
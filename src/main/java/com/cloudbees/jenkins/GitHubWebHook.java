@@ -3,36 +3,47 @@ package com.cloudbees.jenkins;
 import com.google.common.base.Function;
 import hudson.Extension;
 import hudson.ExtensionPoint;
+import hudson.XmlFile;
 import hudson.model.Item;
 import hudson.model.Job;
 import hudson.model.RootAction;
+import hudson.model.Saveable;
 import hudson.model.UnprotectedRootAction;
+import hudson.model.listeners.SaveableListener;
 import hudson.util.SequentialExecutionQueue;
+import jakarta.servlet.http.HttpServletResponse;
 import jenkins.model.Jenkins;
 import jenkins.scm.api.SCMEvent;
+import jenkins.util.SystemProperties;
 import org.apache.commons.lang3.Validate;
 import org.jenkinsci.plugins.github.GitHubPlugin;
+import org.jenkinsci.plugins.github.admin.GitHubHookReRegistration;
+import org.jenkinsci.plugins.github.config.GitHubPluginConfig;
 import org.jenkinsci.plugins.github.extension.GHSubscriberEvent;
-import org.jenkinsci.plugins.github.extension.GHEventsSubscriber;
 import org.jenkinsci.plugins.github.internal.GHPluginConfigException;
+import org.jenkinsci.plugins.github.internal.GitHubCallLimiter;
+import org.jenkinsci.plugins.github.internal.VirtualThreads;
 import org.jenkinsci.plugins.github.webhook.GHEventHeader;
 import org.jenkinsci.plugins.github.webhook.GHEventPayload;
 import org.jenkinsci.plugins.github.webhook.RequirePostWithGHHookPayload;
+import org.jenkinsci.plugins.github.webhook.WebhookEventQueue;
+import org.jenkinsci.plugins.github.webhook.WebhookManager;
 import org.kohsuke.accmod.Restricted;
 import org.kohsuke.accmod.restrictions.NoExternalUse;
 import org.kohsuke.github.GHEvent;
 import org.kohsuke.stapler.Stapler;
+import org.kohsuke.stapler.StaplerResponse2;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import edu.umd.cs.findbugs.annotations.CheckForNull;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import java.net.URL;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
 
 import static hudson.model.Computer.threadPoolForRemoting;
 import static org.apache.commons.lang3.Validate.notNull;
-import static org.jenkinsci.plugins.github.extension.GHEventsSubscriber.isInterestedIn;
-import static org.jenkinsci.plugins.github.extension.GHEventsSubscriber.processEvent;
 import static org.jenkinsci.plugins.github.util.FluentIterableWrapper.from;
 import static org.jenkinsci.plugins.github.util.JobInfoHelpers.isAlive;
 import static org.jenkinsci.plugins.github.util.JobInfoHelpers.isBuildable;
@@ -59,7 +70,22 @@ public class GitHubWebHook implements UnprotectedRootAction {
      */
     public static final String X_GITHUB_DELIVERY = "X-GitHub-Delivery";
 
-    private final transient SequentialExecutionQueue queue = new SequentialExecutionQueue(threadPoolForRemoting);
+    /**
+     * Seconds to wait before retry, sent to GitHub when event queue is full in asynchronous mode
+     */
+    private static final int RETRY_AFTER_SECONDS = SystemProperties.getInteger(
+            GitHubWebHook.class.getName() + ".retryAfterSeconds", 10);
+
+    private transient volatile SequentialExecutionQueue queue = new SequentialExecutionQueue(threadPoolForRemoting);
+
+    /**
+     * Executor of the current {@link #queue}, guarded by this
+     */
+    private transient ExecutorService queueExecutor = threadPoolForRemoting;
+    private transient ExecutorService virtualThreadExecutor;
+    private transient volatile boolean configured;
+
+    private transient GitHubHookReRegistration reRegistration;
 
     @Override
     public String getIconFileName() {
@@ -102,21 +128,54 @@ public class GitHubWebHook implements UnprotectedRootAction {
     }
 
     /**
-     * Calls {@link #registerHookFor(Job)} for every project which have subscriber
+     * Re-registers hooks for every project which have subscriber.
+     * Events of all projects are merged per repository and each repository is processed once,
+     * see {@link GitHubHookReRegistration}
      *
      * @return list of jobs which jenkins tried to register hook
      */
     public List<Item> reRegisterAllHooks() {
-        return from(getJenkinsInstance().getAllItems(Item.class))
+        List<Item> items = from(getJenkinsInstance().getAllItems(Item.class))
                 .filter(isBuildable())
                 .filter(isAlive())
-                .transform(reRegisterHookForJob())
                 .toList();
+
+        URL hookUrl;
+        try {
+            hookUrl = GitHubPlugin.configuration().getHookUrl();
+        } catch (GHPluginConfigException e) {
+            LOGGER.error("Skip registration of GHHook ({})", e.getMessage());
+            return items;
+        }
+
+        synchronized (this) {
+            if (reRegistration != null && !reRegistration.isFinished()) {
+                LOGGER.info("Re-registration of hooks is already running, skipping");
+                return items;
+            }
+            reRegistration = GitHubHookReRegistration.start(forHookUrl(hookUrl), items.size(),
+                    WebhookManager.eventsByRepository(items),
+                    GitHubPlugin.configuration().getMaxConcurrentGitHubCalls());
+        }
+        return items;
+    }
+
+    /**
+     * @return the latest re-registration of all hooks or null if there was no any since start
+     * @since 1.48.0
+     */
+    @CheckForNull
+    public synchronized GitHubHookReRegistration getReRegistration() {
+        return reRegistration;
     }
 
     /**
      * Receives the webhook call
      *
+     * If {@link GitHubPluginConfig#isAsyncWebhookProcessing()} is enabled, event is only queued
+     * and the call is answered with 202 Accepted, or with 503 and Retry-After header when the queue is full.
+     * Otherwise all subscribers are called before the response.
+     *
      * @param event   GH event type. Never null
      * @param payload Payload from hook. Never blank
      */
@@ -127,9 +186,19 @@ public class GitHubWebHook implements UnprotectedRootAction {
         String eventGuid = currentRequest.getHeader(X_GITHUB_DELIVERY);
         GHSubscriberEvent subscriberEvent =
                 new GHSubscriberEvent(eventGuid, SCMEvent.originOf(currentRequest), event, payload);
-        from(GHEventsSubscriber.all())
-                .filter(isInterestedIn(event))
-                .transform(processEvent(subscriberEvent)).toList();
+
+        if (!GitHubPlugin.configuration().isAsyncWebhookProcessing()) {
+            WebhookEventQueue.dispatch(subscriberEvent);
+            return;
+        }
+
+        StaplerResponse2 rsp = Stapler.getCurrentResponse2();
+        if (WebhookEventQueue.get().offer(subscriberEvent)) {
+            rsp.setStatus(HttpServletResponse.SC_ACCEPTED);
+            return;
+        }
+        rsp.setHeader("Retry-After", String.valueOf(RETRY_AFTER_SECONDS));
+        rsp.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
     }
 
     private <T extends Item> Function<T, T> reRegisterHookForJob() {
@@ -147,12 +216,47 @@ public class GitHubWebHook implements UnprotectedRootAction {
                     return job;
                 }
                 Runnable hookRegistrator = forHookUrl(hookUrl).registerFor(job);
-                queue.execute(hookRegistrator);
+                hookQueue().execute(hookRegistrator);
                 return job;
             }
         };
     }
 
+    private SequentialExecutionQueue hookQueue() {
+        if (!configured) {
+            configure(GitHubPlugin.configuration());
+        }
+        return queue;
+    }
+
+    /**
+     * Applies hook registration settings of the plugin.
+     * Queue is replaced instead of changing its executor, as the old executor would be shut down by it,
+     * already queued registrations are finished by the previous queue
+     *
+     * @param config plugin configuration
+     */
+    synchronized void configure(@NonNull GitHubPluginConfig config) {
+        configured = true;
+        GitHubCallLimiter.reconfigure(config.getMaxConcurrentGitHubCalls());
+
+        ExecutorService executor = threadPoolForRemoting;
+        if (config.isHookManagementVirtualThreads()) {
+            if (virtualThreadExecutor == null) {
+                virtualThreadExecutor = VirtualThreads.perTaskExecutor("GitHubWebHook hook registration");
+            }
+            if (virtualThreadExecutor != null) {
+                executor = virtualThreadExecutor;
+            }
+        }
+        if (executor != queueExecutor) {
+            LOGGER.info("Hook registration now uses {} threads",
+                    executor == threadPoolForRemoting ? "remoting" : "virtual");
+            queueExecutor = executor;
+            queue = new SequentialExecutionQueue(executor);
+        }
+    }
+
     public static GitHubWebHook get() {
         return Jenkins.getInstance().getExtensionList(RootAction.class).get(GitHubWebHook.class);
     }
@@ -186,4 +290,21 @@ public class GitHubWebHook implements UnprotectedRootAction {
         public abstract void onPushRepositoryChanged(String pusherName, GitHubRepositoryName changedRepository);
     }
 
+    /**
+     * Applies hook registration settings when plugin configuration is saved
+     */
+    @Extension
+    @Restricted(NoExternalUse.class)
+    public static class HookRegistrationConfigListener extends SaveableListener {
+        @Override
+        public void onChange(Saveable o, XmlFile file) {
+            if (o instanceof GitHubPluginConfig) {
+                GitHubWebHook hook = get();
+                if (hook != null) {
+                    hook.configure((GitHubPluginConfig) o);
+                }
+            }
+        }
+    }
+
 }
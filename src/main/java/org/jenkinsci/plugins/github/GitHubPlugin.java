@@ -4,6 +4,7 @@ import hudson.Plugin;
 import hudson.init.InitMilestone;
 import hudson.init.Initializer;
 import org.jenkinsci.plugins.github.config.GitHubPluginConfig;
+import org.jenkinsci.plugins.github.internal.GitHubClientWarmUp;
 import org.jenkinsci.plugins.github.migration.Migrator;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
@@ -15,7 +16,7 @@ import static org.apache.commons.lang3.ObjectUtils.defaultIfNull;
 /**
  * Main entry point for this plugin
  * <p>
- * Launches migration from old config versions
+ * Launches migration from old config versions and optional warm-up of GitHub clients
  * Contains helper method to get global plugin configuration - {@link #configuration()}
  *
  * @author lanwen (Merkushev Kirill)
@@ -43,6 +44,19 @@ public class GitHubPlugin extends Plugin {
         new Migrator().migrate();
     }
 
+    /**
+     * Creates clients of all server configs in background, if enabled in configuration.
+     * Runs after jobs are loaded to not compete with loading of Jenkins
+     */
+    @Initializer(after = InitMilestone.JOB_CONFIG_ADAPTED)
+    @Restricted(DoNotUse.class)
+    public static void warmUpClients() {
+        GitHubPluginConfig config = configuration();
+        if (config.isWarmUpClients()) {
+            GitHubClientWarmUp.start(config.getConfigs(), config.getMaxConcurrentGitHubCalls());
+        }
+    }
+
     /**
      * Shortcut method for getting instance of {@link GitHubPluginConfig}.
      *
@@ -78,7 +78,7 @@ public class GitHubDuplicateEventsMonitor extends AdministrativeMonitor {
         JSONObject data;
         var lastDuplicate = ExtensionList.lookupSingleton(DuplicateEventsSubscriber.class).getLastDuplicate();
         if (lastDuplicate != null) {
-            data = JSONObject.fromObject(lastDuplicate.ghSubscriberEvent().getPayload());
+            data = lastDuplicate.ghSubscriberEvent().getPayloadJson();
         } else {
             data = getLastDuplicateNoEventPayload();
         }
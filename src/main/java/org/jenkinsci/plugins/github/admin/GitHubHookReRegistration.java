@@ -0,0 +1,160 @@
+package org.jenkinsci.plugins.github.admin;
+
+import com.cloudbees.jenkins.GitHubRepositoryName;
+import hudson.security.ACL;
+import hudson.security.ACLContext;
+import hudson.util.DaemonThreadFactory;
+import hudson.util.NamingThreadFactory;
+import org.jenkinsci.plugins.github.webhook.WebhookManager;
+import org.kohsuke.github.GHEvent;
+import org.kohsuke.github.GHHook;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Re-registration of hooks for all repositories at once.
+ *
+ * Events of all items are merged per repository before any call to GitHub,
+ * so hooks of each repository are fetched and updated only once, even if it's used by many jobs.
+ * Organization webhook is checked once per re-registration, not for each repository of the organization.
+ * Repositories are processed in parallel by a limited number of threads.
+ * Progress and summary are shown on the page of this object.
+ *
+ * @since 1.48.0
+ */
+public class GitHubHookReRegistration {
+    private static final Logger LOGGER = LoggerFactory.getLogger(GitHubHookReRegistration.class);
+
+    private final int items;
+    private final Map<GitHubRepositoryName, Set<GHEvent>> repositories;
+    private final long startedAt = System.currentTimeMillis();
+    private volatile long finishedAt;
+
+    private final AtomicInteger processed = new AtomicInteger();
+    private final AtomicInteger created = new AtomicInteger();
+    private final Map<GitHubRepositoryName, String> failures = new ConcurrentHashMap<>();
+
+    private GitHubHookReRegistration(int items, Map<GitHubRepositoryName, Set<GHEvent>> repositories) {
+        this.items = items;
+        this.repositories = repositories;
+    }
+
+    /**
+     * Starts re-registration in background
+     *
+     * @param manager     to register hooks with
+     * @param items       number of items repositories are collected from
+     * @param events      events of each repository, see {@link WebhookManager#eventsByRepository(Iterable)}
+     * @param parallelism max number of repositories processed at the same time
+     *
+     * @return started re-registration
+     */
+    @NonNull
+    public static GitHubHookReRegistration start(@NonNull WebhookManager manager, int items,
+                                                 @NonNull Map<GitHubRepositoryName, Set<GHEvent>> events,
+                                                 int parallelism) {
+        GitHubHookReRegistration registration = new GitHubHookReRegistration(items, events);
+        LOGGER.info("Re-registering hooks for {} repositories of {} items", events.size(), items);
+        if (events.isEmpty()) {
+            registration.finishedAt = System.currentTimeMillis();
+            return registration;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(parallelism, events.size())),
+                new NamingThreadFactory(new DaemonThreadFactory(), GitHubHookReRegistration.class.getSimpleName()));
+        for (Map.Entry<GitHubRepositoryName, Set<GHEvent>> entry : events.entrySet()) {
+            executor.execute(() -> registration.register(manager, entry.getKey(), entry.getValue()));
+        }
+        executor.shutdown();
+        return registration;
+    }
+
+    private void register(WebhookManager manager, GitHubRepositoryName name, Set<GHEvent> events) {
+        try (ACLContext ctx = ACL.as2(ACL.SYSTEM2)) {
+            GHHook hook = manager.createHookFor(name, new ArrayList<>(events), startedAt);
+            if (hook != null) {
+                created.incrementAndGet();
+                LOGGER.debug("Created hook {} for {} (events: {})", hook.getUrl(), name, events);
+            }
+        } catch (Exception e) {
+            LOGGER.warn("Failed to add GitHub webhook for {}", name, e);
+            failures.put(name, String.valueOf(e.getMessage()));
+            GitHubHookRegisterProblemMonitor.get().registerProblem(name, e);
+        } finally {
+            if (processed.incrementAndGet() == repositories.size()) {
+                finishedAt = System.currentTimeMillis();
+                LOGGER.info("Re-registered hooks for {} repositories in {} ms: {} created, {} failed",
+                        repositories.size(), getDurationMillis(), created.get(), failures.size());
+            }
+        }
+    }
+
+    /**
+     * @return number of items repositories were collected from
+     */
+    public int getItems() {
+        return items;
+    }
+
+    /**
+     * @return number of repositories to process
+     */
+    public int getRepositories() {
+        return repositories.size();
+    }
+
+    /**
+     * @return number of processed repositories
+     */
+    public int getProcessed() {
+        return processed.get();
+    }
+
+    /**
+     * @return number of repositories with new or updated hook
+     */
+    public int getCreated() {
+        return created.get();
+    }
+
+    /**
+     * @return failed repositories with error messages
+     */
+    @NonNull
+    public Map<GitHubRepositoryName, String> getFailures() {
+        return Collections.unmodifiableMap(failures);
+    }
+
+    public boolean isFinished() {
+        return finishedAt != 0;
+    }
+
+    public long getStartedAt() {
+        return startedAt;
+    }
+
+    /**
+     * @return time spent so far, or time of the whole re-registration if it's finished
+     */
+    public long getDurationMillis() {
+        return (isFinished() ? finishedAt : System.currentTimeMillis()) - startedAt;
+    }
+
+    /**
+     * @return duration in seconds for the page
+     */
+    public long getDurationSeconds() {
+        return TimeUnit.MILLISECONDS.toSeconds(getDurationMillis());
+    }
+}
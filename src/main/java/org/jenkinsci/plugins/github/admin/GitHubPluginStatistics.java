@@ -0,0 +1,140 @@
+package org.jenkinsci.plugins.github.admin;
+
+import com.cloudbees.jenkins.Cleaner;
+import com.cloudbees.jenkins.GitHubPushTrigger;
+import hudson.Extension;
+import hudson.model.ManagementLink;
+import jenkins.model.Jenkins;
+import org.jenkinsci.plugins.github.Messages;
+import org.jenkinsci.plugins.github.internal.AssociatedNamesCache;
+import org.jenkinsci.plugins.github.internal.GitHubHttpPools;
+import org.jenkinsci.plugins.github.internal.GitHubRateLimiter;
+import org.jenkinsci.plugins.github.webhook.HookSecretSelector;
+import org.jenkinsci.plugins.github.webhook.WebhookEventQueue;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Page in global management section with counters and gauges of caches, queues and http clients of the plugin,
+ * so their efficiency can be checked on a loaded instance. Values are collected since Jenkins start.
+ *
+ * @since 1.48.0
+ */
+@Extension
+public class GitHubPluginStatistics extends ManagementLink {
+
+    @Override
+    public String getIconFileName() {
+        return "symbol-logo-github plugin-github";
+    }
+
+    @Override
+    public String getUrlName() {
+        return "github-plugin-statistics";
+    }
+
+    @Override
+    public String getDisplayName() {
+        return Messages.statistics_displayname();
+    }
+
+    @Override
+    public String getDescription() {
+        return Messages.statistics_description();
+    }
+
+    @NonNull
+    @Override
+    public Category getCategory() {
+        return Category.STATUS;
+    }
+
+    /**
+     * @return number of associated names served from cache
+     */
+    public long getAssociatedNamesHits() {
+        return AssociatedNamesCache.hitCount();
+    }
+
+    /**
+     * @return number of associated names computed from item configuration
+     */
+    public long getAssociatedNamesMisses() {
+        return AssociatedNamesCache.missCount();
+    }
+
+    /**
+     * @return queue of webhook events processed in background
+     */
+    @NonNull
+    public WebhookEventQueue getWebhookEventQueue() {
+        return WebhookEventQueue.get();
+    }
+
+    /**
+     * @return number of deliveries checked against hook secrets
+     */
+    public long getSignatureDeliveries() {
+        return HookSecretSelector.getDeliveryCount();
+    }
+
+    /**
+     * @return number of signatures computed for all deliveries
+     */
+    public long getSignatureAttempts() {
+        return HookSecretSelector.getAttemptCount();
+    }
+
+    /**
+     * @return number of deliveries without matching signature
+     */
+    public long getSignatureFailures() {
+        return HookSecretSelector.getFailureCount();
+    }
+
+    /**
+     * @return average number of signatures computed for a delivery
+     */
+    @NonNull
+    public String getSignatureAttemptsPerDelivery() {
+        long deliveries = getSignatureDeliveries();
+        return deliveries == 0
+                ? "-"
+                : String.format(Locale.ENGLISH, "%.2f", (double) getSignatureAttempts() / deliveries);
+    }
+
+    /**
+     * @return descriptor of push trigger with polling executor, coalescer and debouncer
+     */
+    @NonNull
+    public GitHubPushTrigger.DescriptorImpl getPushTrigger() {
+        return Jenkins.get().getDescriptorByType(GitHubPushTrigger.DescriptorImpl.class);
+    }
+
+    /**
+     * @return periodic work removing hooks of repositories no longer used, null if it's not registered
+     */
+    @CheckForNull
+    public Cleaner getCleaner() {
+        return Cleaner.get();
+    }
+
+    /**
+     * @return shared http connection pools keyed by host
+     */
+    @NonNull
+    public Map<String, GitHubHttpPools.HostPool> getHttpPools() {
+        return GitHubHttpPools.all();
+    }
+
+    /**
+     * @return rate limiters of all server configs used since start, keyed by api url and credentials id
+     */
+    @NonNull
+    public Map<String, GitHubRateLimiter> getRateLimiters() {
+        return GitHubRateLimiter.all();
+    }
+}
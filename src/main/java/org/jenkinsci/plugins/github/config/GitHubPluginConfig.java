@@ -4,6 +4,7 @@ import com.cloudbees.jenkins.GitHubWebHook;
 import com.google.common.base.Function;
 import com.google.common.base.Predicate;
 import com.google.common.base.Predicates;
+import edu.umd.cs.findbugs.annotations.CheckForNull;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import hudson.BulkChange;
 import hudson.Extension;
@@ -13,6 +14,7 @@ import hudson.model.Descriptor;
 import hudson.model.Item;
 import hudson.security.Permission;
 import hudson.util.FormValidation;
+import hudson.util.ListBoxModel;
 import jenkins.model.GlobalConfiguration;
 import jenkins.model.Jenkins;
 import net.sf.json.JSONObject;
@@ -20,10 +22,13 @@ import org.apache.commons.codec.binary.Base64;
 import org.jenkinsci.main.modules.instance_identity.InstanceIdentity;
 import org.jenkinsci.plugins.github.GitHubPlugin;
 import org.jenkinsci.plugins.github.Messages;
+import org.jenkinsci.plugins.github.admin.GitHubHookReRegistration;
 import org.jenkinsci.plugins.github.internal.GHPluginConfigException;
+import org.jenkinsci.plugins.github.internal.GitHubServerConfigIndex;
 import org.jenkinsci.plugins.github.migration.Migrator;
 import org.kohsuke.accmod.Restricted;
 import org.kohsuke.accmod.restrictions.DoNotUse;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
 import org.kohsuke.github.GitHub;
 import org.kohsuke.stapler.DataBoundSetter;
 import org.kohsuke.stapler.QueryParameter;
@@ -76,6 +81,69 @@ public class GitHubPluginConfig extends GlobalConfiguration {
     private transient HookSecretConfig hookSecretConfig;
     private List<HookSecretConfig> hookSecretConfigs;
 
+    /**
+     * Default capacity of queue for received events in asynchronous mode
+     *
+     * @since 1.48.0
+     */
+    public static final int DEFAULT_WEBHOOK_QUEUE_CAPACITY = 1000;
+
+    /**
+     * Default number of threads to process received events in asynchronous mode
+     *
+     * @since 1.48.0
+     */
+    public static final int DEFAULT_WEBHOOK_WORKER_THREADS = 4;
+
+    private boolean asyncWebhookProcessing;
+    private int webhookQueueCapacity = DEFAULT_WEBHOOK_QUEUE_CAPACITY;
+    private int webhookWorkerThreads = DEFAULT_WEBHOOK_WORKER_THREADS;
+
+    /**
+     * Default number of threads polling jobs triggered by webhooks
+     */
+    public static final int DEFAULT_POLLING_THREADS = 10;
+
+    /**
+     * Default capacity of queue for polls waiting for a thread, 0 for unbounded queue.
+     * Each job has at most one waiting poll, so the queue is never longer than the number of jobs
+     */
+    public static final int DEFAULT_POLLING_QUEUE_CAPACITY = 0;
+
+    private int pollingThreads = DEFAULT_POLLING_THREADS;
+    private int pollingQueueCapacity = DEFAULT_POLLING_QUEUE_CAPACITY;
+    private PollingRejectionPolicy pollingRejectionPolicy = PollingRejectionPolicy.DISCARD;
+    private boolean pollingVirtualThreads;
+
+    /**
+     * Default number of concurrent hook management calls to each GitHub server
+     */
+    public static final int DEFAULT_MAX_CONCURRENT_GITHUB_CALLS = 10;
+
+    private boolean hookManagementVirtualThreads;
+    private int maxConcurrentGitHubCalls = DEFAULT_MAX_CONCURRENT_GITHUB_CALLS;
+
+    /**
+     * Default number of idle connections kept open to each GitHub host
+     */
+    public static final int DEFAULT_HTTP_MAX_IDLE_CONNECTIONS = 5;
+
+    /**
+     * Default minutes to keep idle connection open
+     */
+    public static final int DEFAULT_HTTP_KEEP_ALIVE_MINUTES = 5;
+
+    /**
+     * Default number of concurrent http requests to each GitHub host
+     */
+    public static final int DEFAULT_HTTP_MAX_REQUESTS_PER_HOST = 20;
+
+    private int httpMaxIdleConnections = DEFAULT_HTTP_MAX_IDLE_CONNECTIONS;
+    private int httpKeepAliveMinutes = DEFAULT_HTTP_KEEP_ALIVE_MINUTES;
+    private int httpMaxRequestsPerHost = DEFAULT_HTTP_MAX_REQUESTS_PER_HOST;
+
+    private boolean warmUpClients;
+
     /**
      * Used to get current instance identity.
      * It compared with same value when testing hook url availability in {@link #doCheckHookUrl(String)}
@@ -84,6 +152,11 @@ public class GitHubPluginConfig extends GlobalConfiguration {
     @SuppressWarnings("unused")
     private transient InstanceIdentity identity;
 
+    /**
+     * Configs by host, see {@link #configsFor(String, String)}
+     */
+    private transient volatile GitHubServerConfigIndex index;
+
     public GitHubPluginConfig() {
         getConfigFile().getXStream().alias("github-server-config", GitHubServerConfig.class);
         load();
@@ -100,6 +173,33 @@ public class GitHubPluginConfig extends GlobalConfiguration {
             }
             hookSecretConfig = null;
         }
+        if (webhookQueueCapacity <= 0) {
+            webhookQueueCapacity = DEFAULT_WEBHOOK_QUEUE_CAPACITY;
+        }
+        if (webhookWorkerThreads <= 0) {
+            webhookWorkerThreads = DEFAULT_WEBHOOK_WORKER_THREADS;
+        }
+        if (pollingThreads <= 0) {
+            pollingThreads = DEFAULT_POLLING_THREADS;
+        }
+        if (pollingQueueCapacity < 0) {
+            pollingQueueCapacity = DEFAULT_POLLING_QUEUE_CAPACITY;
+        }
+        if (pollingRejectionPolicy == null) {
+            pollingRejectionPolicy = PollingRejectionPolicy.DISCARD;
+        }
+        if (maxConcurrentGitHubCalls <= 0) {
+            maxConcurrentGitHubCalls = DEFAULT_MAX_CONCURRENT_GITHUB_CALLS;
+        }
+        if (httpMaxIdleConnections <= 0) {
+            httpMaxIdleConnections = DEFAULT_HTTP_MAX_IDLE_CONNECTIONS;
+        }
+        if (httpKeepAliveMinutes <= 0) {
+            httpKeepAliveMinutes = DEFAULT_HTTP_KEEP_ALIVE_MINUTES;
+        }
+        if (httpMaxRequestsPerHost <= 0) {
+            httpMaxRequestsPerHost = DEFAULT_HTTP_MAX_REQUESTS_PER_HOST;
+        }
         return this;
     }
 
@@ -153,6 +253,257 @@ public class GitHubPluginConfig extends GlobalConfiguration {
         return isOverrideHookUrl();
     }
 
+    /**
+     * If enabled, webhook events are acknowledged with 202 right after signature check
+     * and processed by a pool of workers. Subscribers are called outside of the request in such case.
+     *
+     * @return true if events are processed asynchronously
+     * @since 1.48.0
+     */
+    public boolean isAsyncWebhookProcessing() {
+        return asyncWebhookProcessing;
+    }
+
+    /**
+     * @param asyncWebhookProcessing true to process events by a pool of workers
+     * @since 1.48.0
+     */
+    @DataBoundSetter
+    public void setAsyncWebhookProcessing(boolean asyncWebhookProcessing) {
+        this.asyncWebhookProcessing = asyncWebhookProcessing;
+    }
+
+    /**
+     * @return max number of events waiting for processing in asynchronous mode
+     * @since 1.48.0
+     */
+    public int getWebhookQueueCapacity() {
+        return webhookQueueCapacity;
+    }
+
+    /**
+     * @param webhookQueueCapacity max number of events waiting for processing, default is used if &lt;= 0
+     * @since 1.48.0
+     */
+    @DataBoundSetter
+    public void setWebhookQueueCapacity(int webhookQueueCapacity) {
+        this.webhookQueueCapacity = webhookQueueCapacity > 0 ? webhookQueueCapacity : DEFAULT_WEBHOOK_QUEUE_CAPACITY;
+    }
+
+    /**
+     * @return number of threads processing events in asynchronous mode
+     * @since 1.48.0
+     */
+    public int getWebhookWorkerThreads() {
+        return webhookWorkerThreads;
+    }
+
+    /**
+     * @param webhookWorkerThreads number of threads processing events, default is used if &lt;= 0
+     * @since 1.48.0
+     */
+    @DataBoundSetter
+    public void setWebhookWorkerThreads(int webhookWorkerThreads) {
+        this.webhookWorkerThreads = webhookWorkerThreads > 0 ? webhookWorkerThreads : DEFAULT_WEBHOOK_WORKER_THREADS;
+    }
+
+    /**
+     * @return number of threads polling jobs triggered by webhooks
+     * @since 1.48.0
+     */
+    public int getPollingThreads() {
+        return pollingThreads;
+    }
+
+    /**
+     * @param pollingThreads number of threads polling jobs, default is used if &lt;= 0
+     * @since 1.48.0
+     */
+    @DataBoundSetter
+    public void setPollingThreads(int pollingThreads) {
+        this.pollingThreads = pollingThreads > 0 ? pollingThreads : DEFAULT_POLLING_THREADS;
+    }
+
+    /**
+     * @return max number of polls waiting for a thread, 0 if queue is unbounded
+     * @since 1.48.0
+     */
+    public int getPollingQueueCapacity() {
+        return pollingQueueCapacity;
+    }
+
+    /**
+     * @param pollingQueueCapacity max number of polls waiting for a thread, 0 for unbounded queue,
+     *                             default is used if &lt; 0
+     * @since 1.48.0
+     */
+    @DataBoundSetter
+    public void setPollingQueueCapacity(int pollingQueueCapacity) {
+        this.pollingQueueCapacity = pollingQueueCapacity >= 0 ? pollingQueueCapacity : DEFAULT_POLLING_QUEUE_CAPACITY;
+    }
+
+    /**
+     * Applies only to bounded queue, see {@link #getPollingQueueCapacity()}
+     *
+     * @return what to do with poll when polling queue is full
+     * @since 1.48.0
+     */
+    @NonNull
+    public PollingRejectionPolicy getPollingRejectionPolicy() {
+        return pollingRejectionPolicy;
+    }
+
+    /**
+     * @param pollingRejectionPolicy what to do with poll when polling queue is full, discard if null
+     * @since 1.48.0
+     */
+    @DataBoundSetter
+    public void setPollingRejectionPolicy(PollingRejectionPolicy pollingRejectionPolicy) {
+        this.pollingRejectionPolicy = pollingRejectionPolicy != null
+                ? pollingRejectionPolicy
+                : PollingRejectionPolicy.DISCARD;
+    }
+
+    /**
+     * Virtual threads are used only if supported by the running JVM (Java 21+).
+     * They replace platform threads of the same fixed pool, so the number of concurrent polls
+     * is still limited by {@link #getPollingThreads()}
+     *
+     * @return true if polling threads should be virtual
+     * @since 1.48.0
+     */
+    public boolean isPollingVirtualThreads() {
+        return pollingVirtualThreads;
+    }
+
+    /**
+     * @param pollingVirtualThreads true to poll in virtual threads if supported by the running JVM
+     * @since 1.48.0
+     */
+    @DataBoundSetter
+    public void setPollingVirtualThreads(boolean pollingVirtualThreads) {
+        this.pollingVirtualThreads = pollingVirtualThreads;
+    }
+
+    /**
+     * Virtual threads are used only if supported by the running JVM (Java 21+)
+     *
+     * @return true if each hook registration should run in its own virtual thread
+     * @since 1.48.0
+     */
+    public boolean isHookManagementVirtualThreads() {
+        return hookManagementVirtualThreads;
+    }
+
+    /**
+     * @param hookManagementVirtualThreads true to register hooks in virtual threads if supported by the running JVM
+     * @since 1.48.0
+     */
+    @DataBoundSetter
+    public void setHookManagementVirtualThreads(boolean hookManagementVirtualThreads) {
+        this.hookManagementVirtualThreads = hookManagementVirtualThreads;
+    }
+
+    /**
+     * @return max number of concurrent hook management calls to each GitHub server
+     * @since 1.48.0
+     */
+    public int getMaxConcurrentGitHubCalls() {
+        return maxConcurrentGitHubCalls;
+    }
+
+    /**
+     * @param maxConcurrentGitHubCalls max number of concurrent calls to each server, default is used if &lt;= 0
+     * @since 1.48.0
+     */
+    @DataBoundSetter
+    public void setMaxConcurrentGitHubCalls(int maxConcurrentGitHubCalls) {
+        this.maxConcurrentGitHubCalls = maxConcurrentGitHubCalls > 0
+                ? maxConcurrentGitHubCalls
+                : DEFAULT_MAX_CONCURRENT_GITHUB_CALLS;
+    }
+
+    /**
+     * @return max number of idle connections kept open to each GitHub host
+     * @since 1.48.0
+     */
+    public int getHttpMaxIdleConnections() {
+        return httpMaxIdleConnections;
+    }
+
+    /**
+     * @param httpMaxIdleConnections max number of idle connections to each host, default is used if &lt;= 0
+     * @since 1.48.0
+     */
+    @DataBoundSetter
+    public void setHttpMaxIdleConnections(int httpMaxIdleConnections) {
+        this.httpMaxIdleConnections = httpMaxIdleConnections > 0
+                ? httpMaxIdleConnections
+                : DEFAULT_HTTP_MAX_IDLE_CONNECTIONS;
+    }
+
+    /**
+     * @return minutes to keep idle connection to GitHub open
+     * @since 1.48.0
+     */
+    public int getHttpKeepAliveMinutes() {
+        return httpKeepAliveMinutes;
+    }
+
+    /**
+     * @param httpKeepAliveMinutes minutes to keep idle connection open, default is used if &lt;= 0
+     * @since 1.48.0
+     */
+    @DataBoundSetter
+    public void setHttpKeepAliveMinutes(int httpKeepAliveMinutes) {
+        this.httpKeepAliveMinutes = httpKeepAliveMinutes > 0 ? httpKeepAliveMinutes : DEFAULT_HTTP_KEEP_ALIVE_MINUTES;
+    }
+
+    /**
+     * Applies to asynchronous http calls, synchronous GitHub client calls are limited
+     * by {@link #getMaxConcurrentGitHubCalls()} when made in background
+     *
+     * @return max number of concurrent asynchronous http requests to each GitHub host
+     * @since 1.48.0
+     */
+    public int getHttpMaxRequestsPerHost() {
+        return httpMaxRequestsPerHost;
+    }
+
+    /**
+     * @param httpMaxRequestsPerHost max number of concurrent requests to each host, default is used if &lt;= 0
+     * @since 1.48.0
+     */
+    @DataBoundSetter
+    public void setHttpMaxRequestsPerHost(int httpMaxRequestsPerHost) {
+        this.httpMaxRequestsPerHost = httpMaxRequestsPerHost > 0
+                ? httpMaxRequestsPerHost
+                : DEFAULT_HTTP_MAX_REQUESTS_PER_HOST;
+    }
+
+    /**
+     * @return true if clients of all configs should be created in background after start
+     * @since 1.48.0
+     */
+    public boolean isWarmUpClients() {
+        return warmUpClients;
+    }
+
+    @DataBoundSetter
+    public void setWarmUpClients(boolean warmUpClients) {
+        this.warmUpClients = warmUpClients;
+    }
+
+    @SuppressWarnings("unused")
+    @Restricted(NoExternalUse.class) // invoked from Stapler
+    public ListBoxModel doFillPollingRejectionPolicyItems() {
+        ListBoxModel items = new ListBoxModel();
+        for (PollingRejectionPolicy policy : PollingRejectionPolicy.values()) {
+            items.add(policy.getDisplayName(), policy.name());
+        }
+        return items;
+    }
+
     /**
      * Filters all stored configs against given predicate then
      * logs in as the given user and returns the non null connection objects
@@ -170,6 +521,27 @@ public class GitHubPluginConfig extends GlobalConfiguration {
                 .filter(Predicates.notNull());
     }
 
+    /**
+     * Configs of the host to resolve repository of the owner with, without checking configs of other hosts.
+     * Configs explicitly listing the owner go first, configs listing only other owners are skipped
+     *
+     * @param host  host of repository
+     * @param owner owner of repository or null to get all configs of the host
+     *
+     * @return configs in order of preference
+     * @since 1.48.0
+     */
+    @NonNull
+    public List<GitHubServerConfig> configsFor(@NonNull String host, @CheckForNull String owner) {
+        List<GitHubServerConfig> current = getConfigs();
+        GitHubServerConfigIndex known = index;
+        if (known == null || !known.isBuiltFor(current)) {
+            known = new GitHubServerConfigIndex(current);
+            index = known;
+        }
+        return known.configsFor(host, owner);
+    }
+
     public List<Descriptor> actions() {
         return Collections.singletonList(Jenkins.getInstance().getDescriptor(GitHubTokenCredentialsCreator.class));
     }
@@ -241,7 +613,27 @@ public class GitHubPluginConfig extends GlobalConfiguration {
         List<Item> registered = GitHubWebHook.get().reRegisterAllHooks();
 
         LOGGER.info("Called registerHooks() for {} items", registered.size());
-        return FormValidation.ok("Called re-register hooks for %s items", registered.size());
+        GitHubHookReRegistration registration = getReRegistration();
+        if (registration == null) {
+            return FormValidation.ok("Called re-register hooks for %s items", registered.size());
+        }
+        return FormValidation.okWithMarkup(format(
+                "Re-registering hooks for %d repositories of %d items, see <a href=\"%s\">progress</a>",
+                registration.getRepositories(), registration.getItems(),
+                Util.escape(Jenkins.get().getRootUrlFromRequest() + getDescriptorUrl() + "/reRegistration/")
+        ));
+    }
+
+    /**
+     * Progress of hook re-registration, available as a page for users who can start it
+     *
+     * @return the latest re-registration or null if there was no any since start
+     * @since 1.48.0
+     */
+    @CheckForNull
+    @Restricted(NoExternalUse.class)
+    public GitHubHookReRegistration getReRegistration() {
+        return GitHubWebHook.get().getReRegistration();
     }
 
     @RequirePOST
@@ -1,6 +1,7 @@
 package org.jenkinsci.plugins.github.config;
 
 import com.cloudbees.plugins.credentials.CredentialsMatchers;
+import com.cloudbees.plugins.credentials.SystemCredentialsProvider;
 import com.cloudbees.plugins.credentials.common.StandardListBoxModel;
 import com.google.common.base.Function;
 import com.google.common.base.Optional;
@@ -10,8 +11,11 @@ import edu.umd.cs.findbugs.annotations.CheckForNull;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import hudson.Extension;
 import hudson.Util;
+import hudson.XmlFile;
 import hudson.model.AbstractDescribableImpl;
 import hudson.model.Descriptor;
+import hudson.model.Saveable;
+import hudson.model.listeners.SaveableListener;
 import hudson.security.ACL;
 import hudson.security.Permission;
 import hudson.util.FormValidation;
@@ -20,15 +24,21 @@ import hudson.util.Secret;
 import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.concurrent.TimeUnit;
 import jenkins.model.Jenkins;
 import jenkins.scm.api.SCMName;
+import jenkins.util.SystemProperties;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.jenkinsci.plugins.github.GitHubPlugin;
 import org.jenkinsci.plugins.github.internal.GitHubLoginFunction;
+import org.jenkinsci.plugins.github.internal.GitHubRepositoryCache;
 import org.jenkinsci.plugins.github.util.misc.NullSafeFunction;
 import org.jenkinsci.plugins.github.util.misc.NullSafePredicate;
 import org.jenkinsci.plugins.plaincredentials.StringCredentials;
 import org.kohsuke.accmod.Restricted;
 import org.kohsuke.accmod.restrictions.DoNotUse;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
 import org.kohsuke.github.GitHub;
 import org.kohsuke.stapler.DataBoundConstructor;
 import org.kohsuke.stapler.DataBoundSetter;
@@ -89,6 +99,12 @@ public class GitHubServerConfig extends AbstractDescribableImpl<GitHubServerConf
      */
     public static final int DEFAULT_CLIENT_CACHE_SIZE_MB = 20;
 
+    /**
+     * Seconds between checks of cached client token against the current secret of credentials
+     */
+    private static final long TOKEN_CHECK_SECONDS = SystemProperties.getLong(
+            GitHubServerConfig.class.getName() + ".tokenCheckSeconds", 60L);
+
     /**
      * The optional display name of this server.
      */
@@ -104,16 +120,51 @@ public class GitHubServerConfig extends AbstractDescribableImpl<GitHubServerConf
      */
     private int clientCacheSize = DEFAULT_CLIENT_CACHE_SIZE_MB;
 
+    /**
+     * @see #getHookOrganizations()
+     */
+    @CheckForNull
+    private String hookOrganizations;
+
+    /**
+     * @see #getRepositoryOwners()
+     */
+    @CheckForNull
+    private String repositoryOwners;
+
+    /**
+     * @see #isPreferHttp2()
+     */
+    private boolean preferHttp2;
+
     /**
      * To avoid creation of new one on every login with this config
      */
     private transient GitHub cachedClient;
 
+    /**
+     * Hash of the token {@link #cachedClient} was created with, null if client was set by
+     * {@link #setCachedClient(GitHub)} and is not checked
+     */
+    private transient volatile String cachedClientFingerprint;
+    private transient volatile long cachedClientCheckedAt;
+
+    /**
+     * Held while the client is created or its token is checked, so callers with the client
+     * and other uses of the config don't wait for it
+     */
+    private transient Object clientLock = new Object();
+
     @DataBoundConstructor
     public GitHubServerConfig(String credentialsId) {
         this.credentialsId = credentialsId;
     }
 
+    private Object readResolve() {
+        clientLock = new Object();
+        return this;
+    }
+
     /**
      * Sets the optional display name.
      * @param name the optional display name.
@@ -215,6 +266,90 @@ public class GitHubServerConfig extends AbstractDescribableImpl<GitHubServerConf
         this.clientCacheSize = clientCacheSize;
     }
 
+    /**
+     * Organizations with one organization webhook instead of a hook in each repository.
+     * Repositories of these organizations are skipped by per-repository hook registration and cleanup
+     *
+     * @return organization names separated by commas or spaces, or null
+     * @since 1.48.0
+     */
+    @CheckForNull
+    public String getHookOrganizations() {
+        return hookOrganizations;
+    }
+
+    @DataBoundSetter
+    public void setHookOrganizations(@CheckForNull String hookOrganizations) {
+        this.hookOrganizations = Util.fixEmptyAndTrim(hookOrganizations);
+    }
+
+    /**
+     * Sends requests to plain http api url with cleartext HTTP/2 prior knowledge (h2c), so concurrent calls
+     * (e.g. bursts of commit statuses) are multiplexed over one connection instead of opening a connection
+     * for each call. Falls back to HTTP/1.1 if the server or a proxy doesn't support it.
+     * Has no effect for https api urls, which negotiate HTTP/2 with the server anyway.
+     *
+     * @return true if HTTP/2 should be used for this server
+     * @since 1.48.0
+     */
+    public boolean isPreferHttp2() {
+        return preferHttp2;
+    }
+
+    @DataBoundSetter
+    public void setPreferHttp2(boolean preferHttp2) {
+        this.preferHttp2 = preferHttp2;
+    }
+
+    /**
+     * @param organization owner of repository
+     *
+     * @return true if hooks of the organization are managed on organization level by this config
+     * @since 1.48.0
+     */
+    public boolean isHookOrganization(@CheckForNull String organization) {
+        return isListed(hookOrganizations, organization);
+    }
+
+    /**
+     * Owners (users or organizations) of repositories this config is used for.
+     * If set, repositories of other owners are not resolved with credentials of this config
+     *
+     * @return owner names separated by commas or spaces, or null to use this config for any repository of the host
+     * @since 1.48.0
+     */
+    @CheckForNull
+    public String getRepositoryOwners() {
+        return repositoryOwners;
+    }
+
+    @DataBoundSetter
+    public void setRepositoryOwners(@CheckForNull String repositoryOwners) {
+        this.repositoryOwners = Util.fixEmptyAndTrim(repositoryOwners);
+    }
+
+    /**
+     * @param owner owner of repository
+     *
+     * @return true if owner is explicitly listed in {@link #getRepositoryOwners()}
+     * @since 1.48.0
+     */
+    public boolean isRepositoryOwner(@CheckForNull String owner) {
+        return isListed(repositoryOwners, owner);
+    }
+
+    private static boolean isListed(@CheckForNull String names, @CheckForNull String name) {
+        if (names == null || name == null) {
+            return false;
+        }
+        for (String listed : names.split("[,\\s]+")) {
+            if (listed.equalsIgnoreCase(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * @return cached GH client or null
      */
@@ -229,6 +364,15 @@ public class GitHubServerConfig extends AbstractDescribableImpl<GitHubServerConf
      */
     protected synchronized void setCachedClient(GitHub cachedClient) {
         this.cachedClient = cachedClient;
+        this.cachedClientFingerprint = null;
+    }
+
+    /**
+     * Drops cached client, so the next login creates a new one, e.g. with changed http settings
+     */
+    @Restricted(NoExternalUse.class)
+    public void resetCachedClient() {
+        setCachedClient(null);
     }
 
     /**
@@ -325,6 +469,23 @@ public class GitHubServerConfig extends AbstractDescribableImpl<GitHubServerConf
         };
     }
 
+    /**
+     * Returns true if config manages organization webhook of given organization
+     *
+     * @param organization owner of repository
+     *
+     * @return predicate to match against {@link GitHubServerConfig}
+     * @since 1.48.0
+     */
+    public static Predicate<GitHubServerConfig> withHookOrganization(final String organization) {
+        return new NullSafePredicate<GitHubServerConfig>() {
+            @Override
+            protected boolean applyNullSafe(@NonNull GitHubServerConfig github) {
+                return github.isManageHooks() && github.isHookOrganization(organization);
+            }
+        };
+    }
+
     @Extension
     public static class DescriptorImpl extends Descriptor<GitHubServerConfig> {
 
@@ -402,17 +563,65 @@ public class GitHubServerConfig extends AbstractDescribableImpl<GitHubServerConf
 
     /**
      * Function to get authorized GH client and cache it in config
-     * has {@link #loginToGithub()} static factory
+     * has {@link #loginToGithub()} static factory.
+     *
+     * Only one thread logs in for the config, others wait for its client.
+     * Token of credentials is compared with the one client was created with every {@link #TOKEN_CHECK_SECONDS},
+     * (and on next use after system credentials are saved), so the client is recreated after the secret is rotated
+     * without saving the plugin configuration
      */
     private static class ClientCacheFunction extends NullSafeFunction<GitHubServerConfig, GitHub> {
         @Override
         protected GitHub applyNullSafe(@NonNull GitHubServerConfig github) {
-            if (github.getCachedClient() == null) {
-                github.setCachedClient(new GitHubLoginFunction().apply(github));
+            GitHub client = github.getCachedClient();
+            if (client != null && !isTokenCheckDue(github)) {
+                return client;
+            }
+            synchronized (github.clientLock) {
+                client = github.getCachedClient();
+                if (client != null && !isTokenCheckDue(github)) {
+                    return client;
+                }
+                String fingerprint = fingerprintOf(tokenFor(github.getCredentialsId()));
+                if (client == null || !fingerprint.equals(github.cachedClientFingerprint)) {
+                    if (client != null) {
+                        LOGGER.info("Token of creds {} has changed, recreating GitHub client",
+                                github.getCredentialsId());
+                        GitHubRepositoryCache.invalidate(github);
+                    }
+                    client = new GitHubLoginFunction().apply(github);
+                    github.setCachedClient(client);
+                    github.cachedClientFingerprint = fingerprint;
+                }
+                github.cachedClientCheckedAt = System.currentTimeMillis();
+                return client;
             }
-            return github.getCachedClient();
         }
-    }
 
+        private static boolean isTokenCheckDue(GitHubServerConfig github) {
+            return github.cachedClientFingerprint != null
+                    && System.currentTimeMillis() - github.cachedClientCheckedAt
+                    >= TimeUnit.SECONDS.toMillis(TOKEN_CHECK_SECONDS);
+        }
+
+        private static String fingerprintOf(String token) {
+            return DigestUtils.sha256Hex(token);
+        }
+    }
 
+    /**
+     * Makes clients check their tokens on next use when system credentials are saved
+     */
+    @Extension
+    @Restricted(NoExternalUse.class)
+    public static class OnCredentialsSave extends SaveableListener {
+        @Override
+        public void onChange(Saveable o, XmlFile file) {
+            if (o instanceof SystemCredentialsProvider) {
+                for (GitHubServerConfig config : GitHubPlugin.configuration().getConfigs()) {
+                    config.cachedClientCheckedAt = 0;
+                }
+            }
+        }
+    }
 }
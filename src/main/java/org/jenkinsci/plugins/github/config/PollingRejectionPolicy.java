@@ -0,0 +1,32 @@
+package org.jenkinsci.plugins.github.config;
+
+/**
+ * What to do with webhook-triggered poll when polling queue is full.
+ *
+ * @since 1.48.0
+ */
+public enum PollingRejectionPolicy {
+    /**
+     * Poll in the thread which received the event. Never loses a poll, but blocks the webhook request thread
+     * or the shared timer thread of debounced polls till the poll is finished
+     */
+    CALLER_RUNS("Poll in the thread which received the event"),
+
+    /**
+     * Skip the poll and log a warning. Default, as it never blocks the thread which received the event
+     */
+    DISCARD("Skip the poll");
+
+    private final String displayName;
+
+    PollingRejectionPolicy(String displayName) {
+        this.displayName = displayName;
+    }
+
+    /**
+     * @return human readable description of policy
+     */
+    public String getDisplayName() {
+        return displayName;
+    }
+}
@@ -2,10 +2,17 @@ package org.jenkinsci.plugins.github.extension;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jenkins.scm.api.SCMEvent;
+import net.sf.json.JSONObject;
 import org.kohsuke.github.GHEvent;
+import org.kohsuke.github.GHEventPayload;
+import org.kohsuke.github.GitHub;
 
 import edu.umd.cs.findbugs.annotations.CheckForNull;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * An event for a {@link GHEventsSubscriber}.
@@ -20,6 +27,16 @@ public class GHSubscriberEvent extends SCMEvent<String> {
 
     private final String eventGuid;
 
+    /**
+     * Payload parsed to typed objects, memoized per requested type
+     */
+    private final transient Map<Class<?>, GHEventPayload> parsedPayloads = new HashMap<>();
+
+    /**
+     * Payload parsed to json tree, lazily initialized
+     */
+    private transient JSONObject payloadJson;
+
     /**
      * @deprecated use {@link #GHSubscriberEvent(String, String, GHEvent, String)} instead.
      */
@@ -59,4 +76,43 @@ public class GHSubscriberEvent extends SCMEvent<String> {
     public String getEventGuid() {
         return eventGuid;
     }
+
+    /**
+     * Parses payload to the given type. Payload is parsed only once per type and the result is shared
+     * between all subscribers of this event, so it should be treated as read only.
+     *
+     * @param type type of payload, should correspond to {@link #getGHEvent()}
+     * @param <T>  type of payload
+     *
+     * @return parsed payload
+     * @throws IOException if payload can't be parsed to given type
+     * @since 1.48.0
+     */
+    @NonNull
+    public <T extends GHEventPayload> T parsePayload(@NonNull Class<T> type) throws IOException {
+        synchronized (parsedPayloads) {
+            GHEventPayload parsed = parsedPayloads.get(type);
+            if (parsed == null) {
+                parsed = GitHub.offline().parseEventPayload(new StringReader(getPayload()), type);
+                parsedPayloads.put(type, parsed);
+            }
+            return type.cast(parsed);
+        }
+    }
+
+    /**
+     * Parses payload to json tree. Payload is parsed only once and the result is shared
+     * between all subscribers of this event, so it should be treated as read only.
+     *
+     * @return json object of payload
+     * @throws net.sf.json.JSONException if payload is not a json object
+     * @since 1.48.0
+     */
+    @NonNull
+    public synchronized JSONObject getPayloadJson() {
+        if (payloadJson == null) {
+            payloadJson = JSONObject.fromObject(getPayload());
+        }
+        return payloadJson;
+    }
 }
@@ -0,0 +1,202 @@
+package org.jenkinsci.plugins.github.internal;
+
+import com.cloudbees.jenkins.GitHubRepositoryName;
+import com.cloudbees.jenkins.GitHubRepositoryNameContributor;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import hudson.Extension;
+import hudson.FilePath;
+import hudson.XmlFile;
+import hudson.model.Item;
+import hudson.model.Run;
+import hudson.model.Saveable;
+import hudson.model.TaskListener;
+import hudson.model.listeners.ItemListener;
+import hudson.model.listeners.RunListener;
+import hudson.model.listeners.SCMListener;
+import hudson.model.listeners.SaveableListener;
+import hudson.scm.SCM;
+import hudson.scm.SCMRevisionState;
+import jenkins.model.Jenkins;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.File;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Memoizes results of {@link GitHubRepositoryNameContributor#parseAssociatedNames(Item)}.
+ *
+ * Computing names walks every contributor and builds environment of the job for each call,
+ * which is expensive on big instances, while the result changes only with configuration of the item.
+ * Entries are keyed on item identity (so reloaded items never see stale values of the previous object)
+ * and dropped when the item is saved, renamed, deleted, checks out sources or completes a build.
+ * Save of the global Jenkins configuration drops everything, as it can change environment used for expansion.
+ *
+ * Every invalidation of the item bumps its version, kept in the cached value (an entry without names after
+ * invalidation), and names computed for an older version are not stored. The version check and the store
+ * are done atomically for the item, so a concurrent save never leaves names of the previous configuration in cache,
+ * while invalidation of one item doesn't affect loads of other items.
+ */
+@Restricted(NoExternalUse.class)
+public final class AssociatedNamesCache {
+    private static final Logger LOGGER = LoggerFactory.getLogger(AssociatedNamesCache.class);
+
+    private static final Cache<Item, Entry> CACHE = Caffeine.newBuilder()
+            .weakKeys()
+            .build();
+
+    /**
+     * Bumped by {@link #invalidateAll()}, which can't leave a versioned entry for every item
+     */
+    private static final AtomicLong EPOCH = new AtomicLong();
+
+    private static final AtomicLong HITS = new AtomicLong();
+    private static final AtomicLong MISSES = new AtomicLong();
+
+    private AssociatedNamesCache() {
+    }
+
+    /**
+     * @param item   to get names for
+     * @param loader computes names on cache miss
+     *
+     * @return immutable set of names associated with item
+     */
+    @NonNull
+    public static Set<GitHubRepositoryName> get(@NonNull Item item,
+                                                @NonNull Function<Item, Set<GitHubRepositoryName>> loader) {
+        Entry entry = CACHE.getIfPresent(item);
+        if (entry != null && entry.names != null) {
+            HITS.incrementAndGet();
+            return entry.names;
+        }
+        MISSES.incrementAndGet();
+        long epoch = EPOCH.get();
+        long version = entry == null ? 0 : entry.version;
+        Set<GitHubRepositoryName> names = Collections.unmodifiableSet(loader.apply(item));
+        CACHE.asMap().compute(item, (key, current) -> {
+            long currentVersion = current == null ? 0 : current.version;
+            return EPOCH.get() == epoch && currentVersion == version ? new Entry(version, names) : current;
+        });
+        return names;
+    }
+
+    /**
+     * Drops cached names of the item
+     */
+    public static void invalidate(@NonNull Item item) {
+        CACHE.asMap().compute(item, (key, current) -> new Entry(current == null ? 1 : current.version + 1, null));
+    }
+
+    /**
+     * Drops all cached names
+     */
+    public static void invalidateAll() {
+        EPOCH.incrementAndGet();
+        CACHE.invalidateAll();
+    }
+
+    /**
+     * @return number of lookups served from cache
+     */
+    public static long hitCount() {
+        return HITS.get();
+    }
+
+    /**
+     * @return number of lookups which required to compute names
+     */
+    public static long missCount() {
+        return MISSES.get();
+    }
+
+    /**
+     * Names of the item with version of its configuration they were computed for
+     */
+    private static final class Entry {
+        private final long version;
+        @CheckForNull
+        private final Set<GitHubRepositoryName> names;
+
+        private Entry(long version, @CheckForNull Set<GitHubRepositoryName> names) {
+            this.version = version;
+            this.names = names;
+        }
+    }
+
+    /**
+     * Runs before other item listeners (as of {@link GitHubRepositoryJobIndex}) to let them see fresh names
+     */
+    @Extension(ordinal = 100)
+    @Restricted(NoExternalUse.class)
+    public static class OnItemChange extends ItemListener {
+        @Override
+        public void onLoaded() {
+            invalidateAll();
+        }
+
+        @Override
+        public void onCreated(Item item) {
+            invalidate(item);
+        }
+
+        @Override
+        public void onUpdated(Item item) {
+            invalidate(item);
+        }
+
+        @Override
+        public void onDeleted(Item item) {
+            invalidate(item);
+        }
+
+        @Override
+        public void onLocationChanged(Item item, String oldFullName, String newFullName) {
+            invalidate(item);
+        }
+    }
+
+    @Extension(ordinal = 100)
+    @Restricted(NoExternalUse.class)
+    public static class OnSave extends SaveableListener {
+        @Override
+        public void onChange(Saveable o, XmlFile file) {
+            if (o instanceof Item) {
+                invalidate((Item) o);
+            } else if (o instanceof Jenkins) {
+                LOGGER.debug("Global configuration changed, dropping all cached repository names");
+                invalidateAll();
+            }
+        }
+    }
+
+    /**
+     * Pipeline jobs report SCMs from their builds, so names can change without any configuration change
+     */
+    @Extension(ordinal = 100)
+    @Restricted(NoExternalUse.class)
+    public static class OnCheckout extends SCMListener {
+        @Override
+        public void onCheckout(Run<?, ?> build, SCM scm, FilePath workspace, TaskListener listener,
+                               File changelogFile, SCMRevisionState pollingBaseline) {
+            invalidate(build.getParent());
+        }
+    }
+
+    @Extension(ordinal = 100)
+    @Restricted(NoExternalUse.class)
+    public static class OnCompleted extends RunListener<Run<?, ?>> {
+        @Override
+        public void onCompleted(Run<?, ?> run, @NonNull TaskListener listener) {
+            invalidate(run.getParent());
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package org.jenkinsci.plugins.github.internal;
+
+import org.jenkinsci.plugins.github.config.GitHubPluginConfig;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Limits number of concurrent background calls (hook management) to each GitHub server.
+ *
+ * Lets hook tasks run in unbounded executors (as of virtual thread per task) without flooding GitHub.
+ * The limit is taken from {@link GitHubPluginConfig#getMaxConcurrentGitHubCalls()} and applied on its save,
+ * permits taken before the change are returned to the previous semaphore.
+ */
+@Restricted(NoExternalUse.class)
+public final class GitHubCallLimiter {
+    private static final Logger LOGGER = LoggerFactory.getLogger(GitHubCallLimiter.class);
+
+    private static final ConcurrentMap<String, Semaphore> SEMAPHORES = new ConcurrentHashMap<>();
+
+    private static volatile int permits = GitHubPluginConfig.DEFAULT_MAX_CONCURRENT_GITHUB_CALLS;
+
+    private GitHubCallLimiter() {
+    }
+
+    /**
+     * Blocks until the call to given host is allowed
+     *
+     * @param host GitHub server host
+     *
+     * @return permit to be closed after the call
+     */
+    @NonNull
+    public static Permit acquire(@NonNull String host) {
+        Semaphore semaphore = SEMAPHORES.computeIfAbsent(host.toLowerCase(Locale.ENGLISH),
+                key -> new Semaphore(permits, true));
+        if (!semaphore.tryAcquire()) {
+            LOGGER.debug("Too many concurrent calls to {}, waiting", host);
+            semaphore.acquireUninterruptibly();
+        }
+        return new Permit(semaphore);
+    }
+
+    /**
+     * Applies new limit to calls started after this moment
+     */
+    public static void reconfigure(int maxConcurrentCalls) {
+        if (permits != maxConcurrentCalls) {
+            permits = maxConcurrentCalls;
+            SEMAPHORES.clear();
+        }
+    }
+
+    /**
+     * @return number of calls waiting for permit to given host
+     */
+    public static int getWaitingCount(@NonNull String host) {
+        Semaphore semaphore = SEMAPHORES.get(host.toLowerCase(Locale.ENGLISH));
+        return semaphore == null ? 0 : semaphore.getQueueLength();
+    }
+
+    /**
+     * Taken permit of call to GitHub, to be used in try-with-resources
+     */
+    public static final class Permit implements AutoCloseable {
+        private final Semaphore semaphore;
+
+        private Permit(Semaphore semaphore) {
+            this.semaphore = semaphore;
+        }
+
+        @Override
+        public void close() {
+            semaphore.release();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package org.jenkinsci.plugins.github.internal;
+
+import hudson.security.ACL;
+import hudson.security.ACLContext;
+import hudson.util.DaemonThreadFactory;
+import hudson.util.NamingThreadFactory;
+import org.jenkinsci.plugins.github.config.GitHubServerConfig;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+import org.kohsuke.github.GitHub;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.jenkinsci.plugins.github.config.GitHubServerConfig.loginToGithub;
+
+/**
+ * Creates GitHub clients of all server configs in background after start,
+ * so the first push or commit status doesn't pay for login, client cache opening and TLS handshake.
+ *
+ * Each client makes one {@code GET /rate_limit} call (not counted against the quota), which opens
+ * the connection in the shared pool and the disk cache of the client. Configs are warmed up in parallel,
+ * time spent for each of them is logged and available from {@link #getWarmUpMillis()}.
+ */
+@Restricted(NoExternalUse.class)
+public final class GitHubClientWarmUp {
+    private static final Logger LOGGER = LoggerFactory.getLogger(GitHubClientWarmUp.class);
+
+    /**
+     * Display name of config to milliseconds spent for its warm-up
+     */
+    private static final Map<String, Long> WARM_UP_MILLIS = new ConcurrentHashMap<>();
+
+    private GitHubClientWarmUp() {
+    }
+
+    /**
+     * Starts warm-up in background
+     *
+     * @param configs     configs to create clients for
+     * @param parallelism max number of configs warmed up at the same time
+     */
+    public static void start(@NonNull List<GitHubServerConfig> configs, int parallelism) {
+        if (configs.isEmpty()) {
+            return;
+        }
+        LOGGER.info("Warming up GitHub clients for {} server configs", configs.size());
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(parallelism, configs.size())),
+                new NamingThreadFactory(new DaemonThreadFactory(), GitHubClientWarmUp.class.getSimpleName()));
+        for (GitHubServerConfig config : configs) {
+            executor.execute(() -> {
+                try (ACLContext ctx = ACL.as2(ACL.SYSTEM2)) {
+                    long millis = warmUp(config);
+                    WARM_UP_MILLIS.put(config.getDisplayName(), millis);
+                    LOGGER.info("GitHub client for {} is warmed up in {} ms", config.getDisplayName(), millis);
+                } catch (Exception e) {
+                    LOGGER.warn("Failed to warm up GitHub client for {}", config.getDisplayName(), e);
+                }
+            });
+        }
+        executor.shutdown();
+    }
+
+    /**
+     * Creates client of config and makes the first call with it
+     *
+     * @return milliseconds spent
+     */
+    static long warmUp(GitHubServerConfig config) throws IOException {
+        long start = System.nanoTime();
+        GitHub gitHub = loginToGithub().apply(config);
+        if (gitHub == null) {
+            throw new IOException("Can't login with creds " + config.getCredentialsId());
+        }
+        gitHub.getRateLimit();
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    /**
+     * @return milliseconds spent for warm-up of each config by display name
+     */
+    @NonNull
+    public static Map<String, Long> getWarmUpMillis() {
+        return Collections.unmodifiableMap(WARM_UP_MILLIS);
+    }
+}
@@ -0,0 +1,77 @@
+package org.jenkinsci.plugins.github.internal;
+
+import net.sf.json.JSONArray;
+import net.sf.json.JSONObject;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import org.jenkinsci.plugins.github.GitHubPlugin;
+import org.jenkinsci.plugins.github.config.GitHubServerConfig;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+import org.kohsuke.github.GHEvent;
+import org.kohsuke.github.GHHook;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.IOException;
+import java.util.Set;
+
+import static org.jenkinsci.plugins.github.config.GitHubServerConfig.allowedToManageHooks;
+import static org.jenkinsci.plugins.github.config.GitHubServerConfig.tokenFor;
+import static org.jenkinsci.plugins.github.util.FluentIterableWrapper.from;
+
+/**
+ * Edits events of existing hook with {@code PATCH /repos/{owner}/{repo}/hooks/{id}},
+ * which is not supported by GitHub client.
+ *
+ * Hook doesn't know credentials it was fetched with, so each config managing hooks of the host is tried in turn
+ */
+@Restricted(NoExternalUse.class)
+public final class GitHubHookEditor {
+    private static final Logger LOGGER = LoggerFactory.getLogger(GitHubHookEditor.class);
+
+    private static final MediaType JSON = MediaType.parse("application/json; charset=utf-8");
+
+    private GitHubHookEditor() {
+    }
+
+    /**
+     * @param host   GitHub host of hook repository
+     * @param hook   hook to edit
+     * @param events full list of events hook should be subscribed to
+     *
+     * @return true if hook was edited, false if no config was able to edit it
+     */
+    public static boolean editEvents(@NonNull String host, @NonNull GHHook hook, @NonNull Set<GHEvent> events) {
+        JSONArray symbols = new JSONArray();
+        for (GHEvent event : events) {
+            symbols.add(event.symbol());
+        }
+        JSONObject body = new JSONObject();
+        body.put("events", symbols);
+        body.put("active", true);
+
+        for (GitHubServerConfig config : from(GitHubPlugin.configuration().configsFor(host, null))
+                .filter(allowedToManageHooks())) {
+            Request request = new Request.Builder()
+                    .url(hook.getUrl())
+                    .header("Authorization", "token " + tokenFor(config.getCredentialsId()))
+                    .header("Accept", "application/vnd.github+json")
+                    .patch(RequestBody.create(body.toString(), JSON))
+                    .build();
+            try (Response response = GitHubLoginFunction.httpClientFor(config).newCall(request).execute()) {
+                if (response.isSuccessful()) {
+                    return true;
+                }
+                LOGGER.debug("Creds {} can't edit hook {}: {}", config.getCredentialsId(), hook.getUrl(),
+                        response.code());
+            } catch (IOException e) {
+                LOGGER.debug("Creds {} failed to edit hook {}", config.getCredentialsId(), hook.getUrl(), e);
+            }
+        }
+        return false;
+    }
+}
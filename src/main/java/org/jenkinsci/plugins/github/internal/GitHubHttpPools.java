@@ -0,0 +1,216 @@
+package org.jenkinsci.plugins.github.internal;
+
+import hudson.Extension;
+import hudson.XmlFile;
+import hudson.model.Saveable;
+import hudson.model.listeners.SaveableListener;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import org.jenkinsci.plugins.github.GitHubPlugin;
+import org.jenkinsci.plugins.github.config.GitHubPluginConfig;
+import org.jenkinsci.plugins.github.config.GitHubServerConfig;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Connection pools shared by all http clients calling the same GitHub host.
+ *
+ * Every {@link GitHubServerConfig} and every credentials check
+ * used to get its own pool, so connections to the same host were not reused between them.
+ * Pool and dispatcher sizes are configured in {@link GitHubPluginConfig}. When they are changed,
+ * pools are replaced and cached clients of server configs are dropped, so the next login gets the new pools.
+ *
+ * Max requests per host limits asynchronous calls of the dispatcher only. Concurrency of synchronous
+ * GitHub client calls made in background is limited by {@link GitHubCallLimiter}.
+ */
+@Restricted(NoExternalUse.class)
+public final class GitHubHttpPools {
+    private static final Logger LOGGER = LoggerFactory.getLogger(GitHubHttpPools.class);
+
+    private static final ConcurrentMap<String, HostPool> POOLS = new ConcurrentHashMap<>();
+
+    private static volatile Settings settings;
+
+    private GitHubHttpPools() {
+    }
+
+    /**
+     * @param builder client builder to apply pool of host to
+     * @param apiUrl  api url of GitHub server
+     *
+     * @return the same builder with shared pool and dispatcher
+     */
+    @NonNull
+    public static OkHttpClient.Builder share(@NonNull OkHttpClient.Builder builder, @NonNull String apiUrl) {
+        HostPool pool = forHost(hostOf(apiUrl));
+        return builder.connectionPool(pool.connections)
+                .dispatcher(pool.dispatcher);
+    }
+
+    /**
+     * @return pools of all hosts used since start or the last change of settings
+     */
+    @NonNull
+    public static Map<String, HostPool> all() {
+        return Collections.unmodifiableMap(POOLS);
+    }
+
+    /**
+     * Replaces pools if settings are changed. Idle connections of replaced pools are closed,
+     * cached clients of server configs are dropped to be created with new pools on next login.
+     * Calls in progress finish with the previous pools
+     *
+     * @param config plugin configuration with pool settings
+     */
+    public static synchronized void reconfigure(@NonNull GitHubPluginConfig config) {
+        Settings updated = new Settings(config);
+        if (updated.equals(settings)) {
+            return;
+        }
+        LOGGER.debug("GitHub http pools are reconfigured to {}", updated);
+        boolean changed = settings != null;
+        settings = updated;
+        for (HostPool pool : POOLS.values()) {
+            pool.connections.evictAll();
+        }
+        POOLS.clear();
+        if (changed) {
+            for (GitHubServerConfig server : config.getConfigs()) {
+                server.resetCachedClient();
+                GitHubRepositoryCache.invalidate(server);
+            }
+        }
+    }
+
+    private static HostPool forHost(String host) {
+        HostPool pool = POOLS.get(host);
+        if (pool != null) {
+            return pool;
+        }
+        Settings current = settings;
+        if (current == null) {
+            reconfigure(GitHubPlugin.configuration());
+            current = settings;
+        }
+        Settings used = current;
+        return POOLS.computeIfAbsent(host, key -> new HostPool(used));
+    }
+
+    private static String hostOf(String apiUrl) {
+        try {
+            return new URL(apiUrl).getHost().toLowerCase(Locale.ENGLISH);
+        } catch (MalformedURLException e) {
+            return apiUrl;
+        }
+    }
+
+    /**
+     * Pool of connections to one host
+     */
+    public static final class HostPool {
+        private final ConnectionPool connections;
+        private final Dispatcher dispatcher = new Dispatcher();
+
+        private HostPool(Settings settings) {
+            this.connections = new ConnectionPool(settings.maxIdleConnections,
+                    settings.keepAliveMinutes, TimeUnit.MINUTES);
+            this.dispatcher.setMaxRequestsPerHost(settings.maxRequestsPerHost);
+        }
+
+        /**
+         * @return number of open connections
+         */
+        public int getConnectionCount() {
+            return connections.connectionCount();
+        }
+
+        /**
+         * @return number of open connections not used by any request
+         */
+        public int getIdleConnectionCount() {
+            return connections.idleConnectionCount();
+        }
+
+        /**
+         * @return number of asynchronous requests in progress
+         */
+        public int getActiveRequests() {
+            return dispatcher.runningCallsCount();
+        }
+
+        /**
+         * @return number of asynchronous requests waiting for other requests to the host to finish
+         */
+        public int getWaitingRequests() {
+            return dispatcher.queuedCallsCount();
+        }
+    }
+
+    /**
+     * Applies pool settings when plugin configuration is saved
+     */
+    @Extension
+    @Restricted(NoExternalUse.class)
+    public static class PoolsConfigListener extends SaveableListener {
+        @Override
+        public void onChange(Saveable o, XmlFile file) {
+            if (o instanceof GitHubPluginConfig) {
+                reconfigure((GitHubPluginConfig) o);
+            }
+        }
+    }
+
+    /**
+     * Pool settings to detect their changes
+     */
+    private static final class Settings {
+        private final int maxIdleConnections;
+        private final int keepAliveMinutes;
+        private final int maxRequestsPerHost;
+
+        private Settings(GitHubPluginConfig config) {
+            this.maxIdleConnections = config.getHttpMaxIdleConnections();
+            this.keepAliveMinutes = config.getHttpKeepAliveMinutes();
+            this.maxRequestsPerHost = config.getHttpMaxRequestsPerHost();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Settings)) {
+                return false;
+            }
+            Settings that = (Settings) o;
+            return maxIdleConnections == that.maxIdleConnections
+                    && keepAliveMinutes == that.keepAliveMinutes
+                    && maxRequestsPerHost == that.maxRequestsPerHost;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(maxIdleConnections, keepAliveMinutes, maxRequestsPerHost);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("idle=%d, keepAlive=%dm, perHost=%d",
+                    maxIdleConnections, keepAliveMinutes, maxRequestsPerHost);
+        }
+    }
+}
@@ -3,7 +3,10 @@ package org.jenkinsci.plugins.github.internal;
 import com.cloudbees.jenkins.GitHubWebHook;
 import io.jenkins.plugins.okhttp.api.JenkinsOkHttpClient;
 import okhttp3.Cache;
+import okhttp3.Interceptor;
 import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Response;
 import jenkins.model.Jenkins;
 import org.jenkinsci.plugins.github.config.GitHubServerConfig;
 import org.jenkinsci.plugins.github.util.misc.NullSafeFunction;
@@ -22,9 +25,11 @@ import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.Proxy;
 import java.net.URL;
+import java.util.Collections;
 
 import static org.apache.commons.lang3.StringUtils.defaultIfBlank;
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
+import static org.apache.commons.lang3.StringUtils.startsWithIgnoreCase;
 import static org.jenkinsci.plugins.github.config.GitHubServerConfig.GITHUB_URL;
 import static org.jenkinsci.plugins.github.config.GitHubServerConfig.tokenFor;
 import static org.jenkinsci.plugins.github.internal.GitHubClientCacheOps.toCacheDir;
@@ -64,6 +69,7 @@ public class GitHubLoginFunction extends NullSafeFunction<GitHubServerConfig, Gi
         GitHubBuilder builder = new GitHubBuilder()
                 .withOAuthToken(accessToken)
                 .withConnector(connector(github))
+                // quota is spread by GitHubRateLimiter, so failing here means it's really exhausted
                 .withRateLimitHandler(RateLimitHandler.FAIL);
         try {
             if (isNotBlank(github.getApiUrl())) {
@@ -85,7 +91,7 @@ public class GitHubLoginFunction extends NullSafeFunction<GitHubServerConfig, Gi
      * @return proxy to use it in connector. Should not be null as it can lead to unexpected behaviour
      */
     @NonNull
-    private Proxy getProxy(String apiUrl) {
+    private static Proxy getProxy(String apiUrl) {
         Jenkins jenkins = GitHubWebHook.getJenkinsInstance();
 
         if (jenkins.proxy == null) {
@@ -102,13 +108,15 @@ public class GitHubLoginFunction extends NullSafeFunction<GitHubServerConfig, Gi
     /**
      * okHttp connector to be used as backend for GitHub client.
      * Uses proxy of jenkins
+     * Shares connection pool with all clients of the same host, see {@link GitHubHttpPools}
+     * Uses cleartext HTTP/2 for http api url if config prefers it, see {@link #withPreferredProtocols}
+     * Requests are throttled by {@link GitHubRateLimiter} of config before they take a connection
      * If cache size > 0, uses cache
      *
      * @return connector to be used as backend for client
      */
     private OkHttpConnector connector(GitHubServerConfig config) {
-        OkHttpClient.Builder builder = BASECLIENT.newBuilder()
-            .proxy(getProxy(defaultIfBlank(config.getApiUrl(), GITHUB_URL)));
+        OkHttpClient.Builder builder = clientBuilderFor(config);
 
 
         if (config.getClientCacheSize() > 0) {
@@ -116,6 +124,82 @@ public class GitHubLoginFunction extends NullSafeFunction<GitHubServerConfig, Gi
             builder.cache(cache);
         }
 
-        return new OkHttpConnector(builder.build());
+        return new OkHttpConnector(withPreferredProtocols(config, builder));
+    }
+
+    /**
+     * Http client without cache for calls not supported by GitHub client (e.g. hook edit).
+     * Shares connections, proxy and rate limit with GitHub clients of the config.
+     * Authorization is up to the caller
+     *
+     * @param config server config to be called
+     *
+     * @return http client to call api of config
+     */
+    @NonNull
+    public static OkHttpClient httpClientFor(@NonNull GitHubServerConfig config) {
+        return withPreferredProtocols(config, clientBuilderFor(config));
+    }
+
+    private static OkHttpClient.Builder clientBuilderFor(GitHubServerConfig config) {
+        String apiUrl = defaultIfBlank(config.getApiUrl(), GITHUB_URL);
+        GitHubRateLimiter limiter = GitHubRateLimiter.forConfig(config);
+        OkHttpClient.Builder builder = BASECLIENT.newBuilder()
+            .proxy(getProxy(apiUrl))
+            .addInterceptor(limiter.throttle())
+            .addNetworkInterceptor(limiter.recorder());
+        return GitHubHttpPools.share(builder, apiUrl);
+    }
+
+    /**
+     * Https api urls negotiate HTTP/2 with the server anyway. For http api url of config preferring HTTP/2
+     * requests are sent with cleartext HTTP/2 prior knowledge, falling back to HTTP/1.1 for the rest
+     * of the client life if the server or a proxy doesn't support it
+     *
+     * @return client built from the builder
+     */
+    private static OkHttpClient withPreferredProtocols(GitHubServerConfig config, OkHttpClient.Builder builder) {
+        OkHttpClient http1 = builder.build();
+        if (!config.isPreferHttp2() || !startsWithIgnoreCase(defaultIfBlank(config.getApiUrl(), GITHUB_URL), "http:")) {
+            return http1;
+        }
+        OkHttpClient.Builder http2 = http1.newBuilder()
+                .protocols(Collections.singletonList(Protocol.H2_PRIOR_KNOWLEDGE));
+        // first, so interceptors of the client run once when request is repeated with http1
+        http2.interceptors().add(0, new CleartextHttp2Fallback(http1));
+        return http2.build();
+    }
+
+    /**
+     * Repeats request over HTTP/1.1 if cleartext HTTP/2 failed before any request succeeded with it.
+     * Server not speaking HTTP/2 fails on the connection preface, before the request is processed
+     */
+    private static final class CleartextHttp2Fallback implements Interceptor {
+        private final OkHttpClient http1;
+        private volatile boolean supported;
+        private volatile boolean unsupported;
+
+        private CleartextHttp2Fallback(OkHttpClient http1) {
+            this.http1 = http1;
+        }
+
+        @Override
+        public Response intercept(Chain chain) throws IOException {
+            if (!unsupported) {
+                try {
+                    Response response = chain.proceed(chain.request());
+                    supported = true;
+                    return response;
+                } catch (IOException e) {
+                    if (supported || chain.call().isCanceled()) {
+                        throw e;
+                    }
+                    LOGGER.warn("Cleartext HTTP/2 request to {} failed, falling back to HTTP/1.1",
+                            chain.request().url().host(), e);
+                    unsupported = true;
+                }
+            }
+            return http1.newCall(chain.request()).execute();
+        }
     }
 }
@@ -0,0 +1,325 @@
+package org.jenkinsci.plugins.github.internal;
+
+import jenkins.util.SystemProperties;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.jenkinsci.plugins.github.config.GitHubServerConfig;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.apache.commons.lang3.StringUtils.defaultIfBlank;
+import static org.jenkinsci.plugins.github.config.GitHubServerConfig.GITHUB_URL;
+
+/**
+ * Throttles requests of one {@link GitHubServerConfig} to spread its API quota across the reset window.
+ *
+ * Quota is taken from {@code X-RateLimit-*} headers of each response and kept per rate limit resource
+ * ({@code core}, {@code search}, {@code graphql}...), as GitHub counts them separately.
+ * While more than a half of quota remains, requests are not delayed. Below it, requests are spaced evenly
+ * until the reset, so the quota is not used up by a burst of calls (e.g. mass hook re-registration).
+ * Part of the quota is kept for more important calls: hook management doesn't use the last
+ * {@link #LOW_PRIORITY_RESERVE_PERCENT}% and commit statuses can use all of it.
+ *
+ * Requests are delayed by an application interceptor ({@link #throttle()}), before they take a pooled connection
+ * or HTTP/2 stream, so waiting requests don't hold connections shared with other clients of the host.
+ * Quota is recorded by a network interceptor ({@link #recorder()}), so responses served from the client cache
+ * don't update it with stale headers. Hook management runs in background and is delayed
+ * up to {@link #MAX_WAIT_SECONDS}.
+ * Other calls are often made in webhook or build threads, so they are delayed not longer than
+ * {@link #REQUEST_MAX_WAIT_SECONDS}. Then the client fails as before if the quota is really exhausted.
+ */
+@Restricted(NoExternalUse.class)
+public class GitHubRateLimiter {
+    private static final Logger LOGGER = LoggerFactory.getLogger(GitHubRateLimiter.class);
+
+    static final String LIMIT_HEADER = "X-RateLimit-Limit";
+    static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+    static final String RESET_HEADER = "X-RateLimit-Reset";
+    static final String RESOURCE_HEADER = "X-RateLimit-Resource";
+
+    /**
+     * Resource of requests and responses not telling their resource
+     */
+    static final String CORE_RESOURCE = "core";
+
+    /**
+     * Percent of quota not used by hook management
+     */
+    static final int LOW_PRIORITY_RESERVE_PERCENT = 20;
+
+    /**
+     * Percent of quota not used by calls other than commit statuses
+     */
+    static final int NORMAL_PRIORITY_RESERVE_PERCENT = 5;
+
+    /**
+     * Max time to delay one hook management request
+     */
+    static final long MAX_WAIT_SECONDS = SystemProperties.getLong(
+            GitHubRateLimiter.class.getName() + ".maxWaitSeconds", 300L);
+
+    /**
+     * Max time to delay other requests, which may block webhook, commit status or build threads
+     */
+    static final long REQUEST_MAX_WAIT_SECONDS = SystemProperties.getLong(
+            GitHubRateLimiter.class.getName() + ".requestMaxWaitSeconds", 5L);
+
+    private static final ConcurrentMap<String, GitHubRateLimiter> LIMITERS = new ConcurrentHashMap<>();
+
+    /**
+     * Priority of request in using the rest of quota
+     */
+    public enum Priority {
+        /**
+         * Hook management
+         */
+        LOW(LOW_PRIORITY_RESERVE_PERCENT),
+        NORMAL(NORMAL_PRIORITY_RESERVE_PERCENT),
+        /**
+         * Commit statuses
+         */
+        HIGH(0);
+
+        private final int reservePercent;
+
+        Priority(int reservePercent) {
+            this.reservePercent = reservePercent;
+        }
+
+        private long maxWaitMillis() {
+            return TimeUnit.SECONDS.toMillis(this == LOW ? MAX_WAIT_SECONDS : REQUEST_MAX_WAIT_SECONDS);
+        }
+
+        /**
+         * @param request request to GitHub API
+         *
+         * @return priority by the called resource
+         */
+        @NonNull
+        public static Priority of(@NonNull Request request) {
+            String path = request.url().encodedPath();
+            if (path.contains("/statuses/")) {
+                return HIGH;
+            }
+            if (path.contains("/hooks")) {
+                return LOW;
+            }
+            return NORMAL;
+        }
+    }
+
+    private final String key;
+
+    // guarded by this
+    private final Map<String, Budget> budgets = new HashMap<>();
+
+    private final AtomicLong throttled = new AtomicLong();
+    private final AtomicLong waitedMillis = new AtomicLong();
+
+    GitHubRateLimiter(String key) {
+        this.key = key;
+    }
+
+    /**
+     * @param config server config
+     *
+     * @return limiter shared by all clients of given api url and credentials
+     */
+    @NonNull
+    public static GitHubRateLimiter forConfig(@NonNull GitHubServerConfig config) {
+        return LIMITERS.computeIfAbsent(keyOf(config), GitHubRateLimiter::new);
+    }
+
+    /**
+     * @return limiters of all configs used since start, keyed by api url and credentials id
+     */
+    @NonNull
+    public static Map<String, GitHubRateLimiter> all() {
+        return Collections.unmodifiableMap(LIMITERS);
+    }
+
+    static String keyOf(GitHubServerConfig config) {
+        return defaultIfBlank(config.getApiUrl(), GITHUB_URL) + '#' + config.getCredentialsId();
+    }
+
+    /**
+     * @return application interceptor delaying requests, to be added to http client of config
+     */
+    @NonNull
+    public Interceptor throttle() {
+        return this::delay;
+    }
+
+    /**
+     * @return network interceptor recording quota from responses, to be added to http client of config
+     */
+    @NonNull
+    public Interceptor recorder() {
+        return this::record;
+    }
+
+    private Response delay(Interceptor.Chain chain) throws IOException {
+        Request request = chain.request();
+        String resource = resourceOf(request);
+        long wait = reserve(Priority.of(request), resource, System.currentTimeMillis());
+        if (wait > 0) {
+            LOGGER.debug("Delaying {} {} for {} ms to spread {} quota of {}",
+                    request.method(), request.url().encodedPath(), wait, resource, key);
+            try {
+                TimeUnit.MILLISECONDS.sleep(wait);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for GitHub rate limit");
+            }
+        }
+        return chain.proceed(request);
+    }
+
+    private Response record(Interceptor.Chain chain) throws IOException {
+        Request request = chain.request();
+        Response response = chain.proceed(request);
+        update(defaultIfBlank(response.header(RESOURCE_HEADER), resourceOf(request)),
+                response.header(LIMIT_HEADER), response.header(REMAINING_HEADER), response.header(RESET_HEADER));
+        return response;
+    }
+
+    /**
+     * Guesses resource of request before its response tells it
+     *
+     * @return rate limit resource the request is counted against
+     */
+    @NonNull
+    static String resourceOf(@NonNull Request request) {
+        String path = request.url().encodedPath();
+        if (path.endsWith("/graphql")) {
+            return "graphql";
+        }
+        if (path.contains("/search/code")) {
+            return "code_search";
+        }
+        if (path.contains("/search/")) {
+            return "search";
+        }
+        return CORE_RESOURCE;
+    }
+
+    /**
+     * Takes one request from known quota of the resource
+     *
+     * @return millis to wait before the request
+     */
+    synchronized long reserve(@NonNull Priority priority, @NonNull String resource, long now) {
+        Budget budget = budgets.get(resource);
+        if (budget == null || budget.remaining < 0 || now >= budget.resetAtMillis) {
+            return 0;
+        }
+        int available = budget.remaining - budget.limit * priority.reservePercent / 100;
+        budget.remaining = Math.max(0, budget.remaining - 1);
+
+        long wait;
+        if (available <= 0) {
+            wait = budget.resetAtMillis - now;
+        } else if (available > budget.limit / 2) {
+            return 0;
+        } else {
+            long slot = Math.max(now, budget.nextSlotMillis);
+            budget.nextSlotMillis = slot + (budget.resetAtMillis - now) / available;
+            wait = slot - now;
+        }
+        wait = Math.min(wait, priority.maxWaitMillis());
+        if (wait > 0) {
+            throttled.incrementAndGet();
+            waitedMillis.addAndGet(wait);
+        }
+        return wait;
+    }
+
+    /**
+     * Applies quota of the resource reported by GitHub. Responses without headers
+     * (e.g. GitHub Enterprise with disabled limits) are ignored
+     */
+    synchronized void update(@NonNull String resource, @CheckForNull String limitHeader,
+                             @CheckForNull String remainingHeader, @CheckForNull String resetHeader) {
+        if (limitHeader == null || remainingHeader == null || resetHeader == null) {
+            return;
+        }
+        try {
+            int limit = Integer.parseInt(limitHeader.trim());
+            int remaining = Integer.parseInt(remainingHeader.trim());
+            long reset = TimeUnit.SECONDS.toMillis(Long.parseLong(resetHeader.trim()));
+            Budget budget = budgets.computeIfAbsent(resource.toLowerCase(Locale.ENGLISH), name -> new Budget());
+            if (reset != budget.resetAtMillis) {
+                budget.nextSlotMillis = 0;
+            }
+            budget.limit = limit;
+            budget.remaining = remaining;
+            budget.resetAtMillis = reset;
+        } catch (NumberFormatException e) {
+            LOGGER.debug("Can't parse rate limit headers of {}", key, e);
+        }
+    }
+
+    /**
+     * @return max core requests per window or -1 if unknown yet
+     */
+    public synchronized int getLimit() {
+        Budget budget = budgets.get(CORE_RESOURCE);
+        return budget == null ? -1 : budget.limit;
+    }
+
+    /**
+     * @return remaining core requests in current window or -1 if unknown yet
+     */
+    public synchronized int getRemaining() {
+        Budget budget = budgets.get(CORE_RESOURCE);
+        return budget == null ? -1 : budget.remaining;
+    }
+
+    /**
+     * @return time of the core quota reset in millis since epoch
+     */
+    public synchronized long getResetAtMillis() {
+        Budget budget = budgets.get(CORE_RESOURCE);
+        return budget == null ? 0 : budget.resetAtMillis;
+    }
+
+    /**
+     * @return number of delayed requests
+     */
+    public long getThrottledCount() {
+        return throttled.get();
+    }
+
+    /**
+     * @return total time requests were delayed for
+     */
+    public long getWaitedMillis() {
+        return waitedMillis.get();
+    }
+
+    /**
+     * Quota of one rate limit resource
+     */
+    private static final class Budget {
+        private int limit = -1;
+        private int remaining = -1;
+        private long resetAtMillis;
+        private long nextSlotMillis;
+    }
+}
@@ -0,0 +1,361 @@
+package org.jenkinsci.plugins.github.internal;
+
+import com.cloudbees.jenkins.GitHubRepositoryName;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import hudson.Extension;
+import hudson.XmlFile;
+import hudson.model.Saveable;
+import hudson.model.listeners.SaveableListener;
+import jenkins.util.SystemProperties;
+import org.jenkinsci.plugins.github.config.GitHubPluginConfig;
+import org.jenkinsci.plugins.github.config.GitHubServerConfig;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+import org.kohsuke.github.GHFileNotFoundException;
+import org.kohsuke.github.GHRepository;
+import org.kohsuke.github.GitHub;
+import org.kohsuke.github.HttpException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.lang.String.format;
+import static org.apache.commons.lang3.StringUtils.containsIgnoreCase;
+import static org.jenkinsci.plugins.github.config.GitHubServerConfig.loginToGithub;
+
+/**
+ * Resolved repositories for each server config, so steady-state commit status updates and hook registrations
+ * don't fetch the repository before each call.
+ *
+ * Entries are keyed on identity of the config (configs are replaced on save of plugin configuration,
+ * so a new client or credentials never see repositories of the previous one) and the repository name.
+ * Repositories are refreshed in background after half of {@link #TTL_MINUTES} and dropped when the repository
+ * is not found or not accessible anymore, either by the refresh or by a failed call with the cached object.
+ *
+ * Configs which got 404 or 403 (not caused by rate limit) for the repository are remembered
+ * for {@link #NOT_FOUND_TTL_MINUTES} and not asked again till then. The config which last resolved the repository
+ * (or successfully used it, see {@link #succeeded(GHRepository)}) is tried first
+ * by {@link #preferKnown(GitHubRepositoryName, List)}.
+ *
+ * Invalidation of a config happens on login while a repository may be loaded for it,
+ * so it only moves the generation of the config forward, and repositories loaded in previous generations
+ * are dropped on next resolve instead of modifying the cache from its own loader.
+ */
+@Restricted(NoExternalUse.class)
+public final class GitHubRepositoryCache {
+    private static final Logger LOGGER = LoggerFactory.getLogger(GitHubRepositoryCache.class);
+
+    /**
+     * Minutes to keep resolved repository
+     */
+    static final long TTL_MINUTES = SystemProperties.getLong(
+            GitHubRepositoryCache.class.getName() + ".ttlMinutes", 10L);
+
+    /**
+     * Max number of repositories kept for all configs
+     */
+    static final long MAX_SIZE = SystemProperties.getLong(
+            GitHubRepositoryCache.class.getName() + ".maxSize", 1000L);
+
+    /**
+     * Minutes to skip config which can't see the repository
+     */
+    static final long NOT_FOUND_TTL_MINUTES = SystemProperties.getLong(
+            GitHubRepositoryCache.class.getName() + ".notFoundTtlMinutes", 5L);
+
+    private static final String RATE_LIMIT_REMAINING_HEADER = "X-RateLimit-Remaining";
+    private static final String RETRY_AFTER_HEADER = "Retry-After";
+
+    private static final LoadingCache<Key, GHRepository> CACHE = Caffeine.newBuilder()
+            .maximumSize(MAX_SIZE)
+            .expireAfterWrite(TTL_MINUTES, TimeUnit.MINUTES)
+            .refreshAfterWrite(Math.max(1, TimeUnit.MINUTES.toSeconds(TTL_MINUTES) / 2), TimeUnit.SECONDS)
+            .recordStats()
+            .build(GitHubRepositoryCache::load);
+
+    private static final Cache<Key, Boolean> NOT_FOUND = Caffeine.newBuilder()
+            .maximumSize(MAX_SIZE)
+            .expireAfterWrite(NOT_FOUND_TTL_MINUTES, TimeUnit.MINUTES)
+            .build();
+
+    /**
+     * Repository object to config and name it was resolved with, compared by identity
+     */
+    private static final Cache<GHRepository, Key> RESOLVED_WITH = Caffeine.newBuilder()
+            .weakKeys()
+            .build();
+
+    /**
+     * Repository name to config which last succeeded with it
+     */
+    private static final Cache<String, GitHubServerConfig> KNOWN_GOOD = Caffeine.newBuilder()
+            .maximumSize(MAX_SIZE)
+            .weakValues()
+            .build();
+
+    /**
+     * Generation of each config, compared by identity. Moved forward by {@link #invalidate(GitHubServerConfig)}
+     */
+    private static final Cache<GitHubServerConfig, AtomicLong> GENERATIONS = Caffeine.newBuilder()
+            .weakKeys()
+            .build();
+
+    /**
+     * Repository object to generation of config it was resolved in, compared by identity
+     */
+    private static final Cache<GHRepository, Long> RESOLVED_IN = Caffeine.newBuilder()
+            .weakKeys()
+            .build();
+
+    private GitHubRepositoryCache() {
+    }
+
+    /**
+     * @param config server config to login with
+     * @param name   repository to resolve
+     *
+     * @return repository or null if it can't be resolved with the config
+     */
+    @CheckForNull
+    public static GHRepository get(@NonNull GitHubServerConfig config, @NonNull GitHubRepositoryName name) {
+        Key key = new Key(config, name);
+        if (NOT_FOUND.getIfPresent(key) != null) {
+            LOGGER.debug("Skipping {} for {}, it wasn't found recently", config.getCredentialsId(), name);
+            return null;
+        }
+        try {
+            GHRepository repository = CACHE.get(key);
+            if (repository != null && isStale(repository, config)) {
+                CACHE.asMap().remove(key, repository);
+                repository = CACHE.get(key);
+            }
+            return repository;
+        } catch (CompletionException e) {
+            LOGGER.warn("Failed to obtain repository {}", name, e.getCause());
+            return null;
+        }
+    }
+
+    /**
+     * Moves config which last succeeded with the repository to the front
+     *
+     * @param name    repository to resolve
+     * @param configs configs to try in order of preference
+     *
+     * @return the same configs, known good one first
+     */
+    @NonNull
+    public static List<GitHubServerConfig> preferKnown(@NonNull GitHubRepositoryName name,
+                                                       @NonNull List<GitHubServerConfig> configs) {
+        GitHubServerConfig known = KNOWN_GOOD.getIfPresent(nameOf(name));
+        if (known == null || configs.isEmpty() || configs.get(0) == known || !configs.contains(known)) {
+            return configs;
+        }
+        List<GitHubServerConfig> ordered = new ArrayList<>(configs.size());
+        ordered.add(known);
+        for (GitHubServerConfig config : configs) {
+            if (config != known) {
+                ordered.add(config);
+            }
+        }
+        return ordered;
+    }
+
+    /**
+     * Records config of the repository object as the one to try first next time,
+     * e.g. when it had permissions required by the caller
+     *
+     * @param repository object returned by {@link #get(GitHubServerConfig, GitHubRepositoryName)}
+     */
+    public static void succeeded(@NonNull GHRepository repository) {
+        Key key = RESOLVED_WITH.getIfPresent(repository);
+        if (key != null) {
+            KNOWN_GOOD.put(key.repository, key.config);
+        }
+    }
+
+    /**
+     * Drops the repository object, so the next resolve fetches it again.
+     * Should be called when a call with the repository fails because of lost access
+     *
+     * @param repository object returned by {@link #get(GitHubServerConfig, GitHubRepositoryName)}
+     */
+    public static void invalidate(@NonNull GHRepository repository) {
+        CACHE.asMap().values().removeIf(cached -> cached == repository);
+        Key key = RESOLVED_WITH.getIfPresent(repository);
+        if (key != null) {
+            KNOWN_GOOD.asMap().remove(key.repository, key.config);
+        }
+    }
+
+    /**
+     * Drops repositories resolved with the config, e.g. when its client is recreated with another token.
+     * Safe to call from the loader of the cache (login recreates the client),
+     * resolved repositories are only marked stale and fetched again on next resolve
+     *
+     * @param config server config
+     */
+    public static void invalidate(@NonNull GitHubServerConfig config) {
+        generationOf(config).incrementAndGet();
+        NOT_FOUND.asMap().keySet().removeIf(key -> key.config == config);
+        KNOWN_GOOD.asMap().values().removeIf(known -> known == config);
+    }
+
+    /**
+     * Drops all repositories and everything known about access of configs to them
+     */
+    public static void invalidateAll() {
+        CACHE.invalidateAll();
+        NOT_FOUND.invalidateAll();
+        KNOWN_GOOD.invalidateAll();
+    }
+
+    /**
+     * 403 is also returned when rate limit is exceeded, such responses don't say anything about access
+     *
+     * @return true if the error means the repository doesn't exist or is not accessible with credentials anymore
+     */
+    public static boolean isAccessError(@NonNull IOException e) {
+        if (e instanceof GHFileNotFoundException) {
+            return true;
+        }
+        if (e instanceof HttpException) {
+            HttpException http = (HttpException) e;
+            int code = http.getResponseCode();
+            return code == HttpURLConnection.HTTP_NOT_FOUND
+                    || (code == HttpURLConnection.HTTP_FORBIDDEN && !isRateLimited(http));
+        }
+        return false;
+    }
+
+    /**
+     * @return true if response has no remaining requests, asks to retry later or its message is about rate limit
+     */
+    static boolean isRateLimited(@NonNull HttpException e) {
+        Map<String, List<String>> headers = e.getResponseHeaderFields();
+        if (headers != null) {
+            for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+                if (RETRY_AFTER_HEADER.equalsIgnoreCase(header.getKey())
+                        || (RATE_LIMIT_REMAINING_HEADER.equalsIgnoreCase(header.getKey())
+                        && header.getValue() != null && header.getValue().contains("0"))) {
+                    return true;
+                }
+            }
+        }
+        return containsIgnoreCase(e.getMessage(), "rate limit");
+    }
+
+    /**
+     * @return number of resolves served from cache
+     */
+    public static long hitCount() {
+        return CACHE.stats().hitCount();
+    }
+
+    /**
+     * @return number of resolves which required to fetch repository
+     */
+    public static long missCount() {
+        return CACHE.stats().missCount();
+    }
+
+    /**
+     * @return true if config was invalidated after the repository was resolved with it
+     */
+    private static boolean isStale(GHRepository repository, GitHubServerConfig config) {
+        Long generation = RESOLVED_IN.getIfPresent(repository);
+        return generation != null && generation != generationOf(config).get();
+    }
+
+    private static AtomicLong generationOf(GitHubServerConfig config) {
+        return GENERATIONS.get(config, unused -> new AtomicLong());
+    }
+
+    @CheckForNull
+    private static GHRepository load(Key key) throws IOException {
+        GitHub gitHub = loginToGithub().apply(key.config);
+        if (gitHub == null) {
+            return null;
+        }
+        // read after login, as login invalidates the config when the client is recreated
+        long generation = generationOf(key.config).get();
+        try {
+            GHRepository repository = gitHub.getRepository(
+                    format("%s/%s", key.name.getUserName(), key.name.getRepositoryName()));
+            RESOLVED_WITH.put(repository, key);
+            RESOLVED_IN.put(repository, generation);
+            KNOWN_GOOD.put(key.repository, key.config);
+            return repository;
+        } catch (IOException e) {
+            if (isAccessError(e)) {
+                LOGGER.warn("Failed to obtain repository {}", key.name, e);
+                NOT_FOUND.put(key, Boolean.TRUE);
+                return null;
+            }
+            throw e;
+        }
+    }
+
+    private static String nameOf(GitHubRepositoryName name) {
+        return (name.getHost() + '/' + name.getUserName() + '/' + name.getRepositoryName()).toLowerCase(Locale.ENGLISH);
+    }
+
+    /**
+     * Configs are replaced on save, so repositories of the previous ones are not needed anymore
+     */
+    @Extension
+    @Restricted(NoExternalUse.class)
+    public static class OnPluginConfigSave extends SaveableListener {
+        @Override
+        public void onChange(Saveable o, XmlFile file) {
+            if (o instanceof GitHubPluginConfig) {
+                invalidateAll();
+            }
+        }
+    }
+
+    /**
+     * Config compared by identity and case-insensitive repository name with host
+     */
+    private static final class Key {
+        private final GitHubServerConfig config;
+        private final GitHubRepositoryName name;
+        private final String repository;
+
+        private Key(GitHubServerConfig config, GitHubRepositoryName name) {
+            this.config = config;
+            this.name = name;
+            this.repository = nameOf(name);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key that = (Key) o;
+            return config == that.config && repository.equals(that.repository);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(config) + repository.hashCode();
+        }
+    }
+}
@@ -0,0 +1,324 @@
+package org.jenkinsci.plugins.github.internal;
+
+import com.cloudbees.jenkins.Cleaner;
+import com.cloudbees.jenkins.GitHubPushTrigger;
+import com.cloudbees.jenkins.GitHubRepositoryName;
+import com.cloudbees.jenkins.GitHubRepositoryNameContributor;
+import hudson.Extension;
+import hudson.XmlFile;
+import hudson.model.Item;
+import hudson.model.Run;
+import hudson.model.Saveable;
+import hudson.model.TaskListener;
+import hudson.model.listeners.ItemListener;
+import hudson.model.listeners.RunListener;
+import hudson.model.listeners.SaveableListener;
+import hudson.security.ACL;
+import hudson.security.ACLContext;
+import jenkins.model.Jenkins;
+import org.jenkinsci.plugins.github.extension.GHEventsSubscriber;
+import org.jenkinsci.plugins.github.util.JobInfoHelpers;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.jenkinsci.plugins.github.util.JobInfoHelpers.triggerFrom;
+
+/**
+ * Inverted index of {@link GitHubRepositoryName} to full names of items with {@link GitHubPushTrigger}.
+ *
+ * Used by push event dispatch to avoid walking every item of the instance and computing associated names
+ * for each of them on every push. The index is built lazily on the first lookup
+ * and then maintained incrementally on item creation, save, rename, deletion and completion of builds
+ * (as pipeline jobs discover their SCMs only while running).
+ * Item loading (startup or reload from disk) drops the index to be rebuilt on the next lookup.
+ *
+ * Separately, items any {@link GHEventsSubscriber} is applicable for are indexed, so {@link Cleaner}
+ * can check a queued repository without walking all items. This part is built on its first lookup too.
+ */
+@Extension
+@Restricted(NoExternalUse.class)
+public class GitHubRepositoryJobIndex extends ItemListener {
+    private static final Logger LOGGER = LoggerFactory.getLogger(GitHubRepositoryJobIndex.class);
+
+    private final Map<GitHubRepositoryName, Set<String>> jobsByRepo = new HashMap<>();
+    private final Map<String, Set<GitHubRepositoryName>> reposByJob = new HashMap<>();
+
+    private final Map<GitHubRepositoryName, Set<String>> subscribedJobsByRepo = new HashMap<>();
+    private final Map<String, Set<GitHubRepositoryName>> subscribedReposByJob = new HashMap<>();
+
+    /**
+     * False until the first full scan, all incremental updates are ignored till then
+     */
+    private boolean initialized;
+
+    /**
+     * Same as {@link #initialized} for items with subscribers
+     */
+    private boolean subscribedInitialized;
+
+    /**
+     * @param name repository to find items for
+     *
+     * @return full names of items with {@link GitHubPushTrigger} associated with given repo. Never null
+     */
+    @NonNull
+    public synchronized Set<String> jobsFor(@NonNull GitHubRepositoryName name) {
+        ensureInitialized();
+        Set<String> jobs = jobsByRepo.get(name);
+        return jobs == null ? Collections.<String>emptySet() : new HashSet<>(jobs);
+    }
+
+    /**
+     * @return copy of all repositories which have at least one item with {@link GitHubPushTrigger}
+     */
+    @NonNull
+    public synchronized Set<GitHubRepositoryName> repositories() {
+        ensureInitialized();
+        return new HashSet<>(jobsByRepo.keySet());
+    }
+
+    /**
+     * @param name repository to check
+     *
+     * @return true if any item some {@link GHEventsSubscriber} is applicable for is associated with given repo
+     */
+    public synchronized boolean isSubscribed(@NonNull GitHubRepositoryName name) {
+        ensureSubscribedInitialized();
+        return subscribedJobsByRepo.containsKey(name);
+    }
+
+    /**
+     * Doesn't build the index, so it's cheap enough to be called while a trigger is stopped
+     *
+     * @param fullName full name of item
+     *
+     * @return repositories item is indexed with, empty if item is not indexed or index is not built yet
+     */
+    @NonNull
+    public synchronized Set<GitHubRepositoryName> indexedRepositoriesOf(@NonNull String fullName) {
+        Set<GitHubRepositoryName> names = new HashSet<>();
+        if (reposByJob.containsKey(fullName)) {
+            names.addAll(reposByJob.get(fullName));
+        }
+        if (subscribedReposByJob.containsKey(fullName)) {
+            names.addAll(subscribedReposByJob.get(fullName));
+        }
+        return names;
+    }
+
+    /**
+     * Drops the index. Next lookup will rebuild it from all items of the instance
+     */
+    public synchronized void invalidate() {
+        initialized = false;
+        jobsByRepo.clear();
+        reposByJob.clear();
+        subscribedInitialized = false;
+        subscribedJobsByRepo.clear();
+        subscribedReposByJob.clear();
+    }
+
+    /**
+     * Recalculates associated repositories of the item. Does nothing while index is not built yet
+     *
+     * @param item created or changed item
+     */
+    public void update(@NonNull Item item) {
+        boolean push;
+        boolean subscribed;
+        synchronized (this) {
+            push = initialized;
+            subscribed = subscribedInitialized;
+        }
+        if (!push && !subscribed) {
+            return;
+        }
+        boolean withTrigger = push && hasTrigger(item);
+        boolean withSubscriber = subscribed && hasSubscriber(item);
+        Collection<GitHubRepositoryName> names = withTrigger || withSubscriber
+                ? GitHubRepositoryNameContributor.parseAssociatedNames(item)
+                : Collections.<GitHubRepositoryName>emptySet();
+        Collection<GitHubRepositoryName> pushNames = withTrigger
+                ? names : Collections.<GitHubRepositoryName>emptySet();
+        Collection<GitHubRepositoryName> subscribedNames = withSubscriber
+                ? names : Collections.<GitHubRepositoryName>emptySet();
+        synchronized (this) {
+            if (initialized) {
+                put(jobsByRepo, reposByJob, item.getFullName(), pushNames);
+            }
+            if (subscribedInitialized) {
+                put(subscribedJobsByRepo, subscribedReposByJob, item.getFullName(), subscribedNames);
+            }
+        }
+    }
+
+    /**
+     * Removes the item and all its descendants (if it is a folder) from index
+     *
+     * @param fullName full name of deleted or moved item
+     */
+    public synchronized void remove(@NonNull String fullName) {
+        remove(jobsByRepo, reposByJob, fullName);
+        remove(subscribedJobsByRepo, subscribedReposByJob, fullName);
+    }
+
+    /**
+     * Should be called under lock
+     */
+    private static void remove(Map<GitHubRepositoryName, Set<String>> byRepo,
+                               Map<String, Set<GitHubRepositoryName>> byJob, String fullName) {
+        String prefix = fullName + '/';
+        for (String job : new HashSet<>(byJob.keySet())) {
+            if (job.equals(fullName) || job.startsWith(prefix)) {
+                put(byRepo, byJob, job, Collections.<GitHubRepositoryName>emptySet());
+            }
+        }
+    }
+
+    private void ensureInitialized() {
+        if (initialized) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        try (ACLContext ignored = ACL.as2(ACL.SYSTEM2)) {
+            for (Item item : Jenkins.getInstance().getAllItems(Item.class)) {
+                put(jobsByRepo, reposByJob, item.getFullName(), hasTrigger(item)
+                        ? GitHubRepositoryNameContributor.parseAssociatedNames(item)
+                        : Collections.<GitHubRepositoryName>emptySet());
+            }
+        }
+        initialized = true;
+        LOGGER.debug("Indexed {} repositories of {} items in {} ms",
+                jobsByRepo.size(), reposByJob.size(), System.currentTimeMillis() - start);
+    }
+
+    private void ensureSubscribedInitialized() {
+        if (subscribedInitialized) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        try (ACLContext ignored = ACL.as2(ACL.SYSTEM2)) {
+            for (Item item : Jenkins.getInstance().getAllItems(Item.class)) {
+                put(subscribedJobsByRepo, subscribedReposByJob, item.getFullName(), hasSubscriber(item)
+                        ? GitHubRepositoryNameContributor.parseAssociatedNames(item)
+                        : Collections.<GitHubRepositoryName>emptySet());
+            }
+        }
+        subscribedInitialized = true;
+        LOGGER.debug("Indexed {} subscribed repositories of {} items in {} ms",
+                subscribedJobsByRepo.size(), subscribedReposByJob.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Replaces all known repo names of job with new ones. Should be called under lock
+     */
+    private static void put(Map<GitHubRepositoryName, Set<String>> byRepo,
+                            Map<String, Set<GitHubRepositoryName>> byJob,
+                            String fullName, Collection<GitHubRepositoryName> names) {
+        Set<GitHubRepositoryName> previous = byJob.remove(fullName);
+        if (previous != null) {
+            for (GitHubRepositoryName name : previous) {
+                Set<String> jobs = byRepo.get(name);
+                if (jobs != null) {
+                    jobs.remove(fullName);
+                    if (jobs.isEmpty()) {
+                        byRepo.remove(name);
+                    }
+                }
+            }
+        }
+        if (names.isEmpty()) {
+            return;
+        }
+        byJob.put(fullName, new HashSet<>(names));
+        for (GitHubRepositoryName name : names) {
+            Set<String> jobs = byRepo.get(name);
+            if (jobs == null) {
+                jobs = new HashSet<>();
+                byRepo.put(name, jobs);
+            }
+            jobs.add(fullName);
+        }
+    }
+
+    private static boolean hasTrigger(Item item) {
+        return triggerFrom(item, GitHubPushTrigger.class) != null;
+    }
+
+    private static boolean hasSubscriber(Item item) {
+        return JobInfoHelpers.isAlive().apply(item);
+    }
+
+    @Override
+    public void onLoaded() {
+        invalidate();
+    }
+
+    @Override
+    public void onCreated(Item item) {
+        update(item);
+    }
+
+    @Override
+    public void onDeleted(Item item) {
+        remove(item.getFullName());
+    }
+
+    @Override
+    public void onLocationChanged(Item item, String oldFullName, String newFullName) {
+        remove(oldFullName);
+        update(item);
+    }
+
+    /**
+     * @return instance of index or null if Jenkins is not started yet
+     */
+    @CheckForNull
+    public static GitHubRepositoryJobIndex get() {
+        return Jenkins.getInstance().getExtensionList(ItemListener.class).get(GitHubRepositoryJobIndex.class);
+    }
+
+    /**
+     * Reindexes items on any save. Covers both configuration submit
+     * and programmatic changes of triggers or SCMs which don't fire {@link ItemListener#onUpdated(Item)}
+     */
+    @Extension
+    @Restricted(NoExternalUse.class)
+    public static class OnSave extends SaveableListener {
+        @Override
+        public void onChange(Saveable o, XmlFile file) {
+            if (o instanceof Item) {
+                GitHubRepositoryJobIndex index = get();
+                if (index != null) {
+                    index.update((Item) o);
+                }
+            }
+        }
+    }
+
+    /**
+     * Reindexes job after each build, as pipeline jobs report their SCMs only from completed builds
+     */
+    @Extension
+    @Restricted(NoExternalUse.class)
+    public static class OnCompleted extends RunListener<Run<?, ?>> {
+        @Override
+        public void onCompleted(Run<?, ?> run, @NonNull TaskListener listener) {
+            GitHubRepositoryJobIndex index = get();
+            if (index != null) {
+                index.update(run.getParent());
+            }
+        }
+    }
+}
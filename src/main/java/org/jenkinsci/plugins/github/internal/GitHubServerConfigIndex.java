@@ -0,0 +1,113 @@
+package org.jenkinsci.plugins.github.internal;
+
+import org.jenkinsci.plugins.github.config.GitHubServerConfig;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.apache.commons.lang3.StringUtils.defaultIfBlank;
+import static org.apache.commons.lang3.StringUtils.removeStart;
+import static org.jenkinsci.plugins.github.config.GitHubServerConfig.GITHUB_URL;
+import static org.jenkinsci.plugins.github.config.GitHubServerConfig.withHost;
+import static org.jenkinsci.plugins.github.util.FluentIterableWrapper.from;
+
+/**
+ * Server configs grouped by normalized host of their api url, so configs for a repository are found
+ * without walking (and logging in with) configs of other servers.
+ *
+ * Hosts are compared ignoring case and {@code api.} or {@code www.} prefix,
+ * so {@code github.com} of repository url matches {@code https://api.github.com} api url.
+ * Configs restricted to repository owners (see {@link GitHubServerConfig#getRepositoryOwners()})
+ * are returned only for those owners and go before unrestricted configs of the same host.
+ * Hosts not known to the index fall back to {@link GitHubServerConfig#withHost(String)} check of all configs.
+ *
+ * The index is immutable and built for one list of configs, see {@link #isBuiltFor(List)}.
+ */
+@Restricted(NoExternalUse.class)
+public final class GitHubServerConfigIndex {
+
+    private final GitHubServerConfig[] configs;
+    private final Map<String, List<GitHubServerConfig>> byHost = new HashMap<>();
+
+    public GitHubServerConfigIndex(@NonNull List<GitHubServerConfig> configs) {
+        this.configs = configs.toArray(new GitHubServerConfig[0]);
+        for (GitHubServerConfig config : this.configs) {
+            if (config != null) {
+                byHost.computeIfAbsent(hostOf(config), host -> new ArrayList<>()).add(config);
+            }
+        }
+    }
+
+    /**
+     * @return true if the index contains exactly these configs in the same order,
+     *         false if configs were changed after the index was built
+     */
+    public boolean isBuiltFor(@NonNull List<GitHubServerConfig> configs) {
+        if (configs.size() != this.configs.length) {
+            return false;
+        }
+        for (int i = 0; i < this.configs.length; i++) {
+            if (configs.get(i) != this.configs[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param host  host of repository or api url
+     * @param owner owner of repository, or null to get all configs of the host
+     *
+     * @return configs to try for repository, in order of preference
+     */
+    @NonNull
+    public List<GitHubServerConfig> configsFor(@NonNull String host, @CheckForNull String owner) {
+        List<GitHubServerConfig> ofHost = byHost.get(normalize(host));
+        if (ofHost == null) {
+            ofHost = from(Arrays.asList(configs)).filter(withHost(host)).toList();
+        }
+        if (owner == null) {
+            return Collections.unmodifiableList(ofHost);
+        }
+
+        List<GitHubServerConfig> owned = new ArrayList<>();
+        List<GitHubServerConfig> unrestricted = new ArrayList<>();
+        for (GitHubServerConfig config : ofHost) {
+            if (config.getRepositoryOwners() == null) {
+                unrestricted.add(config);
+            } else if (config.isRepositoryOwner(owner)) {
+                owned.add(config);
+            }
+        }
+        owned.addAll(unrestricted);
+        return owned;
+    }
+
+    private static String hostOf(GitHubServerConfig config) {
+        String apiUrl = defaultIfBlank(config.getApiUrl(), GITHUB_URL);
+        try {
+            return normalize(new URL(apiUrl).getHost());
+        } catch (MalformedURLException e) {
+            return normalize(apiUrl);
+        }
+    }
+
+    /**
+     * @return lower case host without {@code api.} or {@code www.} prefix
+     */
+    static String normalize(String host) {
+        String lower = host.toLowerCase(Locale.ENGLISH);
+        return removeStart(removeStart(lower, "api."), "www.");
+    }
+}
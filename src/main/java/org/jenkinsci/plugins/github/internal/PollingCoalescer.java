@@ -0,0 +1,173 @@
+package org.jenkinsci.plugins.github.internal;
+
+import com.cloudbees.jenkins.GitHubPushTrigger;
+import com.cloudbees.jenkins.GitHubTriggerEvent;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Merges events for the same job while its poll is waiting or running.
+ *
+ * At most one poll per job is submitted to executor at a time. Events received while it waits for a thread
+ * are passed to it, and events received while it runs are collected for a single follow-up poll,
+ * which starts right after the current one, so no push is left unnoticed.
+ * If executor rejects a poll, its events are dropped and counted, see {@link #getDroppedCount()}.
+ * Used by {@link GitHubPushTrigger} to avoid repeated polls of remotes on bursts of pushes.
+ */
+@Restricted(NoExternalUse.class)
+public class PollingCoalescer {
+    private static final Logger LOGGER = LoggerFactory.getLogger(PollingCoalescer.class);
+
+    private final Map<String, Pending> pending = new HashMap<>();
+
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong polls = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    /**
+     * @param key      identity of polled job
+     * @param event    received event
+     * @param poll     polling to run with all events merged since previous poll,
+     *                 the latest submitted one is used if events were merged
+     * @param executor to run poll in
+     */
+    public void submit(@NonNull String key, @NonNull GitHubTriggerEvent event,
+                       @NonNull Consumer<List<GitHubTriggerEvent>> poll, @NonNull Executor executor) {
+        submit(key, Collections.singletonList(event), poll, executor);
+    }
+
+    /**
+     * Same as {@link #submit(String, GitHubTriggerEvent, Consumer, Executor)} for a series of events
+     */
+    public void submit(@NonNull String key, @NonNull List<GitHubTriggerEvent> events,
+                       @NonNull Consumer<List<GitHubTriggerEvent>> poll, @NonNull Executor executor) {
+        received.addAndGet(events.size());
+        Pending state;
+        synchronized (pending) {
+            state = pending.get(key);
+            if (state != null) {
+                state.events.addAll(events);
+                state.poll = poll;
+                coalesced.addAndGet(events.size());
+                LOGGER.debug("Poll of {} is already pending, merged {} events", key, events.size());
+                return;
+            }
+            state = new Pending(key, poll, executor);
+            state.events.addAll(events);
+            pending.put(key, state);
+        }
+        state.submit();
+    }
+
+    /**
+     * @return number of events received
+     */
+    public long getReceivedCount() {
+        return received.get();
+    }
+
+    /**
+     * @return number of events merged into already pending polls
+     */
+    public long getCoalescedCount() {
+        return coalesced.get();
+    }
+
+    /**
+     * @return number of started polls
+     */
+    public long getPollCount() {
+        return polls.get();
+    }
+
+    /**
+     * @return number of events dropped because executor rejected their poll
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * @return number of jobs with waiting or running poll
+     */
+    public int getPendingCount() {
+        synchronized (pending) {
+            return pending.size();
+        }
+    }
+
+    /**
+     * Poll of one job. Guarded by {@link #pending} map
+     */
+    private final class Pending implements Runnable {
+        private final String key;
+        private final Executor executor;
+        private Consumer<List<GitHubTriggerEvent>> poll;
+        private List<GitHubTriggerEvent> events = new ArrayList<>();
+
+        private Pending(String key, Consumer<List<GitHubTriggerEvent>> poll, Executor executor) {
+            this.key = key;
+            this.poll = poll;
+            this.executor = executor;
+        }
+
+        /**
+         * Forgets the job if executor rejects the poll (initial or follow-up one), so next event
+         * has a chance to be submitted. Events of the rejected poll are dropped
+         */
+        private void submit() {
+            try {
+                executor.execute(this);
+            } catch (RejectedExecutionException e) {
+                int lost;
+                synchronized (pending) {
+                    pending.remove(key);
+                    lost = events.size();
+                }
+                dropped.addAndGet(lost);
+                LOGGER.warn("Polling queue rejected poll of {}, dropped {} events", key, lost);
+            }
+        }
+
+        @Override
+        public void run() {
+            List<GitHubTriggerEvent> merged;
+            Consumer<List<GitHubTriggerEvent>> current;
+            synchronized (pending) {
+                merged = events;
+                current = poll;
+                events = new ArrayList<>();
+            }
+            polls.incrementAndGet();
+            try {
+                current.accept(merged);
+            } finally {
+                boolean followUp;
+                synchronized (pending) {
+                    followUp = !events.isEmpty();
+                    if (!followUp) {
+                        pending.remove(key);
+                    }
+                }
+                if (followUp) {
+                    LOGGER.debug("Events for {} were received while polling, polling again", key);
+                    submit();
+                }
+            }
+        }
+    }
+}
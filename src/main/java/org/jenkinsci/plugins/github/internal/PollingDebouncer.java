@@ -0,0 +1,135 @@
+package org.jenkinsci.plugins.github.internal;
+
+import com.cloudbees.jenkins.GitHubPushTrigger;
+import com.cloudbees.jenkins.GitHubTriggerEvent;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Delays polling of a job until no new events were received for the debounce window.
+ *
+ * Every event restarts the window, but the poll is never delayed for more than max-wait
+ * since the first event of the series, so continuous pushes can't starve the job.
+ * Used by {@link GitHubPushTrigger} with window configured on the trigger.
+ */
+@Restricted(NoExternalUse.class)
+public class PollingDebouncer {
+    private static final Logger LOGGER = LoggerFactory.getLogger(PollingDebouncer.class);
+
+    private final ScheduledExecutorService scheduler;
+
+    private final Map<String, Series> series = new HashMap<>();
+
+    private final AtomicLong debounced = new AtomicLong();
+
+    public PollingDebouncer(@NonNull ScheduledExecutorService scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * @param key           identity of polled job
+     * @param event         received event
+     * @param windowMillis  time without new events to wait before firing
+     * @param maxWaitMillis max time to wait since the first event of the series
+     * @param fire          called with all events of the series, the latest submitted one is used
+     */
+    public void submit(@NonNull String key, @NonNull GitHubTriggerEvent event, long windowMillis, long maxWaitMillis,
+                       @NonNull Consumer<List<GitHubTriggerEvent>> fire) {
+        synchronized (series) {
+            long now = System.currentTimeMillis();
+            Series current = series.get(key);
+            if (current == null) {
+                current = new Series(key, now);
+                series.put(key, current);
+            } else {
+                debounced.incrementAndGet();
+                current.scheduled.cancel(false);
+            }
+            current.events.add(event);
+            current.fire = fire;
+            long delay = Math.max(0, Math.min(windowMillis, current.startedAt + maxWaitMillis - now));
+            current.generation++;
+            current.scheduled = scheduler.schedule(current.firing(current.generation), delay, TimeUnit.MILLISECONDS);
+            LOGGER.debug("Poll of {} is delayed for {} ms with {} events", key, delay, current.events.size());
+        }
+    }
+
+    /**
+     * Forgets the series of the job without firing it, e.g. when its trigger is stopped
+     *
+     * @param key identity of polled job
+     *
+     * @return number of dropped events
+     */
+    public int cancel(@NonNull String key) {
+        synchronized (series) {
+            Series current = series.remove(key);
+            if (current == null) {
+                return 0;
+            }
+            current.scheduled.cancel(false);
+            return current.events.size();
+        }
+    }
+
+    /**
+     * @return number of events which postponed already scheduled poll
+     */
+    public long getDebouncedCount() {
+        return debounced.get();
+    }
+
+    /**
+     * @return number of jobs waiting for the end of the window
+     */
+    public int getWaitingCount() {
+        synchronized (series) {
+            return series.size();
+        }
+    }
+
+    /**
+     * Events of one job waiting for the end of the window. Guarded by {@link #series} map
+     */
+    private final class Series {
+        private final String key;
+        private final long startedAt;
+        private final List<GitHubTriggerEvent> events = new ArrayList<>();
+        private Consumer<List<GitHubTriggerEvent>> fire;
+        private ScheduledFuture<?> scheduled;
+        private long generation;
+
+        private Series(String key, long startedAt) {
+            this.key = key;
+            this.startedAt = startedAt;
+        }
+
+        /**
+         * Rescheduled series are fired only by the latest scheduled task
+         */
+        private Runnable firing(final long scheduledGeneration) {
+            return () -> {
+                synchronized (series) {
+                    if (series.get(key) != this || generation != scheduledGeneration) {
+                        return;
+                    }
+                    series.remove(key);
+                }
+                fire.accept(events);
+            };
+        }
+    }
+}
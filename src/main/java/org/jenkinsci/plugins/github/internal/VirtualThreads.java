@@ -0,0 +1,76 @@
+package org.jenkinsci.plugins.github.internal;
+
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Access to virtual threads of Java 21+ while the plugin is still built for Java 17.
+ * Callers should fall back to platform threads when virtual threads are not available.
+ */
+@Restricted(NoExternalUse.class)
+public final class VirtualThreads {
+    private static final Logger LOGGER = LoggerFactory.getLogger(VirtualThreads.class);
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * @return true if running JVM supports virtual threads
+     */
+    public static boolean isSupported() {
+        try {
+            Thread.class.getMethod("ofVirtual");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    /**
+     * @param prefix of thread names, followed by a counter
+     *
+     * @return factory of virtual threads or null if they are not supported
+     */
+    @CheckForNull
+    public static ThreadFactory factory(@NonNull String prefix) {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            Method name = builderClass.getMethod("name", String.class, long.class);
+            builder = name.invoke(builder, prefix + " ", 0L);
+            return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            LOGGER.debug("Virtual threads are not supported by this JVM, using platform threads for {}", prefix);
+            return null;
+        }
+    }
+
+    /**
+     * @param prefix of thread names, followed by a counter
+     *
+     * @return executor starting new virtual thread for each task or null if virtual threads are not supported
+     */
+    @CheckForNull
+    public static ExecutorService perTaskExecutor(@NonNull String prefix) {
+        ThreadFactory factory = factory(prefix);
+        if (factory == null) {
+            return null;
+        }
+        try {
+            return (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+                    .invoke(null, factory);
+        } catch (ReflectiveOperationException e) {
+            LOGGER.debug("Can't create virtual thread per task executor for {}", prefix, e);
+            return null;
+        }
+    }
+}
@@ -18,6 +18,7 @@ import org.jenkinsci.plugins.github.extension.status.GitHubStatusBackrefSource;
 import org.jenkinsci.plugins.github.extension.status.GitHubStatusContextSource;
 import org.jenkinsci.plugins.github.extension.status.GitHubStatusResultSource;
 import org.jenkinsci.plugins.github.extension.status.StatusErrorHandler;
+import org.jenkinsci.plugins.github.internal.GitHubRepositoryCache;
 import org.jenkinsci.plugins.github.status.sources.AnyDefinedRepositorySource;
 import org.jenkinsci.plugins.github.status.sources.BuildDataRevisionShaSource;
 import org.jenkinsci.plugins.github.status.sources.BuildRefBackrefSource;
@@ -29,6 +30,7 @@ import org.kohsuke.stapler.DataBoundConstructor;
 import org.kohsuke.stapler.DataBoundSetter;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -157,7 +159,15 @@ public class GitHubCommitStatusSetter extends Notifier implements SimpleBuildSte
                         GitHubCommitNotifier_SettingCommitStatus(repo.getHtmlUrl() + "/commit/" + sha)
                 );
 
-                repo.createCommitStatus(sha, state, backref, message, contextName);
+                try {
+                    repo.createCommitStatus(sha, state, backref, message, contextName);
+                    GitHubRepositoryCache.succeeded(repo);
+                } catch (IOException e) {
+                    if (GitHubRepositoryCache.isAccessError(e)) {
+                        GitHubRepositoryCache.invalidate(repo);
+                    }
+                    throw e;
+                }
             }
 
         } catch (Exception e) {
@@ -1,10 +1,9 @@
 package org.jenkinsci.plugins.github.webhook;
 
 import com.cloudbees.jenkins.GitHubWebHook;
-import com.google.common.base.Charsets;
 import com.google.common.base.Function;
 import com.google.common.collect.ImmutableMap;
-import org.apache.commons.io.IOUtils;
+import org.jenkinsci.plugins.github.GitHubPlugin;
 import org.jenkinsci.plugins.github.util.misc.NullSafeFunction;
 import org.kohsuke.stapler.AnnotationHandler;
 import org.kohsuke.stapler.InjectedParameter;
@@ -92,16 +91,25 @@ public @interface GHEventPayload {
         }
 
         /**
-         * used for application/json content-type
+         * used for application/json content-type.
+         * Body is read once, with signature for the most probable hook secret computed on the fly
          *
          * @return function to extract payload from body
+         * @see WebhookPayloadReader
          */
         protected static Function<StaplerRequest2, String> fromApplicationJson() {
             return new NullSafeFunction<StaplerRequest2, String>() {
                 @Override
                 protected String applyNullSafe(@NonNull StaplerRequest2 request) {
                     try {
-                        return IOUtils.toString(request.getInputStream(), Charsets.UTF_8);
+                        WebhookPayloadReader reader = WebhookPayloadReader.forRequest(
+                                request, HookSecretSelector.candidates(
+                                        request, GitHubPlugin.configuration().getHookSecretConfigs()
+                                )
+                        );
+                        String payload = reader.read(request.getInputStream(), request.getContentLengthLong());
+                        request.setAttribute(WebhookPayloadReader.DIGESTS_ATTRIBUTE, reader.digests());
+                        return payload;
                     } catch (IOException e) {
                         LOGGER.error("Can't get payload from request: {}", e.getMessage());
                         return null;
@@ -8,6 +8,7 @@ import org.slf4j.LoggerFactory;
 import javax.crypto.Mac;
 import javax.crypto.spec.SecretKeySpec;
 
+import java.security.GeneralSecurityException;
 import java.security.MessageDigest;
 
 import static com.google.common.base.Preconditions.checkNotNull;
@@ -76,9 +77,7 @@ public class GHWebhookSignature {
      */
     private String computeSignature(String algorithm) {
         try {
-            final SecretKeySpec keySpec = new SecretKeySpec(secret.getPlainText().getBytes(UTF_8), algorithm);
-            final Mac mac = Mac.getInstance(algorithm);
-            mac.init(keySpec);
+            final Mac mac = initMac(secret, algorithm);
             final byte[] rawHMACBytes = mac.doFinal(payload.getBytes(UTF_8));
 
             return Hex.encodeHexString(rawHMACBytes);
@@ -88,6 +87,19 @@ public class GHWebhookSignature {
         }
     }
 
+    /**
+     * @param secret    key to sign with
+     * @param algorithm java name of HMAC algorithm (e.g., "HmacSHA256")
+     *
+     * @return mac ready to be updated with payload
+     */
+    static Mac initMac(Secret secret, String algorithm) throws GeneralSecurityException {
+        final SecretKeySpec keySpec = new SecretKeySpec(secret.getPlainText().getBytes(UTF_8), algorithm);
+        final Mac mac = Mac.getInstance(algorithm);
+        mac.init(keySpec);
+        return mac;
+    }
+
     /**
      * @param digest computed signature from external place (GitHub)
      *
@@ -124,12 +136,23 @@ public class GHWebhookSignature {
 
         LOGGER.trace("Signature validation: algorithm={} calculated={} provided={}",
                     algorithm, computed, digest);
+        return isEqual(computed, digest);
+    }
+
+    /**
+     * Compares signatures in constant time to prevent timing attacks
+     *
+     * @param computed signature computed for the payload
+     * @param digest   signature provided with the payload (without algorithm prefix)
+     *
+     * @return true if signatures match
+     */
+    static boolean isEqual(String computed, String digest) {
         if (digest == null && computed == null) {
             return true;
         } else if (digest == null || computed == null) {
             return false;
         } else {
-            // Use constant-time comparison to prevent timing attacks
             return MessageDigest.isEqual(computed.getBytes(UTF_8), digest.getBytes(UTF_8));
         }
     }
@@ -0,0 +1,124 @@
+package org.jenkinsci.plugins.github.webhook;
+
+import com.cloudbees.plugins.credentials.SystemCredentialsProvider;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import hudson.Extension;
+import hudson.XmlFile;
+import hudson.model.Saveable;
+import hudson.model.listeners.SaveableListener;
+import hudson.util.Secret;
+import jenkins.util.SystemProperties;
+import org.jenkinsci.plugins.github.config.GitHubPluginConfig;
+import org.jenkinsci.plugins.github.config.HookSecretConfig;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import javax.crypto.Mac;
+import java.security.GeneralSecurityException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps initialized {@link Mac} per hook secret to avoid credentials lookup, provider lookup and key setup
+ * on every delivery.
+ *
+ * Prototypes are keyed by credentials id and algorithm and never updated, each caller gets its own clone.
+ * Everything is dropped when system credentials or plugin configuration are saved,
+ * and entries expire after {@link #TTL_SECONDS} to catch up with changes in other credentials stores.
+ */
+@Restricted(NoExternalUse.class)
+public final class HookSecretMacs {
+    private static final Logger LOGGER = LoggerFactory.getLogger(HookSecretMacs.class);
+
+    static final long TTL_SECONDS = SystemProperties.getLong(HookSecretMacs.class.getName() + ".ttlSeconds", 60L);
+
+    private static final Cache<String, Prototype> CACHE = Caffeine.newBuilder()
+            .expireAfterWrite(TTL_SECONDS, TimeUnit.SECONDS)
+            .build();
+
+    private HookSecretMacs() {
+    }
+
+    /**
+     * @param config hook secret configuration
+     *
+     * @return new mac initialized with secret of config, or null if secret is not found or mac can't be created
+     */
+    @CheckForNull
+    public static Mac macFor(@NonNull HookSecretConfig config) {
+        Prototype prototype = CACHE.get(keyOf(config), key -> load(config));
+        return prototype == null ? null : prototype.mac();
+    }
+
+    /**
+     * @return key identifying secret and algorithm of config
+     */
+    @NonNull
+    static String keyOf(@NonNull HookSecretConfig config) {
+        return config.getCredentialsId() + '/' + config.getSignatureAlgorithm().name();
+    }
+
+    /**
+     * Drops all prepared macs
+     */
+    public static void invalidateAll() {
+        CACHE.invalidateAll();
+    }
+
+    @CheckForNull
+    private static Prototype load(HookSecretConfig config) {
+        Secret secret = config.getHookSecret();
+        if (secret == null) {
+            return null;
+        }
+        String algorithm = config.getSignatureAlgorithm().getJavaAlgorithm();
+        try {
+            return new Prototype(secret, algorithm, GHWebhookSignature.initMac(secret, algorithm));
+        } catch (GeneralSecurityException e) {
+            LOGGER.error("Can't prepare {} for hook secret {}", algorithm, config.getCredentialsId(), e);
+            return null;
+        }
+    }
+
+    private static final class Prototype {
+        private final Secret secret;
+        private final String algorithm;
+        private final Mac mac;
+
+        private Prototype(Secret secret, String algorithm, Mac mac) {
+            this.secret = secret;
+            this.algorithm = algorithm;
+            this.mac = mac;
+        }
+
+        @CheckForNull
+        private Mac mac() {
+            try {
+                return (Mac) mac.clone();
+            } catch (CloneNotSupportedException e) {
+                LOGGER.trace("Provider of {} can't clone mac, initializing new one", algorithm);
+                try {
+                    return GHWebhookSignature.initMac(secret, algorithm);
+                } catch (GeneralSecurityException ex) {
+                    LOGGER.error("Can't prepare {}", algorithm, ex);
+                    return null;
+                }
+            }
+        }
+    }
+
+    @Extension
+    @Restricted(NoExternalUse.class)
+    public static class OnConfigSave extends SaveableListener {
+        @Override
+        public void onChange(Saveable o, XmlFile file) {
+            if (o instanceof SystemCredentialsProvider || o instanceof GitHubPluginConfig) {
+                invalidateAll();
+            }
+        }
+    }
+}
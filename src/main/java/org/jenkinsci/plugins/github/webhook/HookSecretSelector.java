@@ -0,0 +1,139 @@
+package org.jenkinsci.plugins.github.webhook;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.jenkinsci.plugins.github.config.HookSecretConfig;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Orders configured hook secrets for signature check of the delivery, so in the common case
+ * only one signature is computed.
+ *
+ * Secrets without signature header of their algorithm in the request are skipped.
+ * The secret which verified the previous delivery of the same hook (by {@link #HOOK_ID_HEADER})
+ * goes first, then the secret which verified the last delivery of any hook, then the rest in configured order.
+ */
+@Restricted(NoExternalUse.class)
+public final class HookSecretSelector {
+    private static final Logger LOGGER = LoggerFactory.getLogger(HookSecretSelector.class);
+
+    /**
+     * Id of the hook which sent the delivery
+     */
+    public static final String HOOK_ID_HEADER = "X-GitHub-Hook-ID";
+
+    private static final int MAX_KNOWN_HOOKS = 1000;
+
+    /**
+     * Hook id to key of the secret which verified its last delivery
+     */
+    private static final Cache<String, String> SECRET_BY_HOOK = Caffeine.newBuilder()
+            .maximumSize(MAX_KNOWN_HOOKS)
+            .build();
+
+    private static volatile String lastSuccessful;
+
+    private static final AtomicLong DELIVERIES = new AtomicLong();
+    private static final AtomicLong ATTEMPTS = new AtomicLong();
+    private static final AtomicLong FAILURES = new AtomicLong();
+
+    private HookSecretSelector() {
+    }
+
+    /**
+     * @param req     delivery to check
+     * @param configs configured hook secrets
+     *
+     * @return configs applicable to the delivery, most probable first
+     */
+    @NonNull
+    public static List<HookSecretConfig> candidates(@NonNull HttpServletRequest req,
+                                                    @NonNull List<HookSecretConfig> configs) {
+        String hookId = hookId(req);
+        String byHook = hookId == null ? null : SECRET_BY_HOOK.getIfPresent(hookId);
+        String last = lastSuccessful;
+
+        List<HookSecretConfig> candidates = new ArrayList<>(configs.size());
+        int preferred = 0;
+        for (HookSecretConfig config : configs) {
+            SignatureAlgorithm algorithm = config.getSignatureAlgorithm();
+            String header = req.getHeader(algorithm.getHeaderName());
+            if (header == null || !header.startsWith(algorithm.getSignaturePrefix())) {
+                LOGGER.debug("No signature header {} with prefix {} found for algorithm {}",
+                        algorithm.getHeaderName(), algorithm.getSignaturePrefix(), algorithm);
+                continue;
+            }
+            String key = HookSecretMacs.keyOf(config);
+            if (key.equals(byHook)) {
+                candidates.add(0, config);
+                preferred++;
+            } else if (key.equals(last)) {
+                candidates.add(preferred, config);
+                preferred++;
+            } else {
+                candidates.add(config);
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * Remembers the secret which verified the delivery to try it first next time
+     */
+    public static void matched(@NonNull HttpServletRequest req, @NonNull HookSecretConfig config) {
+        String key = HookSecretMacs.keyOf(config);
+        lastSuccessful = key;
+        String hookId = hookId(req);
+        if (hookId != null) {
+            SECRET_BY_HOOK.put(hookId, key);
+        }
+    }
+
+    /**
+     * @param attempts number of signatures computed for the delivery
+     * @param verified true if one of them matched
+     */
+    public static void record(int attempts, boolean verified) {
+        DELIVERIES.incrementAndGet();
+        ATTEMPTS.addAndGet(attempts);
+        if (!verified) {
+            FAILURES.incrementAndGet();
+        }
+    }
+
+    /**
+     * @return number of deliveries checked against configured secrets
+     */
+    public static long getDeliveryCount() {
+        return DELIVERIES.get();
+    }
+
+    /**
+     * @return number of signatures computed for all deliveries
+     */
+    public static long getAttemptCount() {
+        return ATTEMPTS.get();
+    }
+
+    /**
+     * @return number of deliveries without matching signature
+     */
+    public static long getFailureCount() {
+        return FAILURES.get();
+    }
+
+    @CheckForNull
+    private static String hookId(HttpServletRequest req) {
+        return req.getHeader(HOOK_ID_HEADER);
+    }
+}
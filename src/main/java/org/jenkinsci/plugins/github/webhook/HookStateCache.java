@@ -0,0 +1,235 @@
+package org.jenkinsci.plugins.github.webhook;
+
+import com.cloudbees.jenkins.GitHubRepositoryName;
+import hudson.Extension;
+import hudson.XmlFile;
+import hudson.model.Saveable;
+import jenkins.model.Jenkins;
+import jenkins.util.SystemProperties;
+import jenkins.util.Timer;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+import org.kohsuke.github.GHEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Last known state of hooks managed by Jenkins: hook id, url and events for each repository.
+ *
+ * Lets {@link WebhookManager} skip resolving the repository and fetching its hooks when the job is saved again
+ * with the same events. A state is trusted for {@link #RECONCILE_AFTER_MINUTES}, after that the next registration
+ * checks hooks on GitHub again and refreshes the state. Hook list is requested through the client cache,
+ * so GitHub answers such checks with 304 Not Modified when nothing was changed.
+ *
+ * Saved to JENKINS_HOME to survive restarts, a few seconds after the change.
+ *
+ * @since 1.48.0
+ */
+@Extension
+@Restricted(NoExternalUse.class)
+public class HookStateCache implements Saveable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(HookStateCache.class);
+
+    /**
+     * Minutes to trust known state of hook without checking it on GitHub
+     */
+    static final long RECONCILE_AFTER_MINUTES = SystemProperties.getLong(
+            HookStateCache.class.getName() + ".reconcileAfterMinutes", 60L);
+
+    private static final long SAVE_DELAY_SECONDS = 5;
+
+    private Map<String, HookState> states = new ConcurrentHashMap<>();
+
+    private final transient AtomicBoolean saveScheduled = new AtomicBoolean();
+
+    public HookStateCache() {
+        load();
+        states = states == null ? new ConcurrentHashMap<>() : new ConcurrentHashMap<>(states);
+    }
+
+    /**
+     * @return true if the hook to endpoint is known to be subscribed to all events and was checked recently
+     */
+    public boolean isUpToDate(@NonNull GitHubRepositoryName name, @NonNull URL endpoint,
+                              @NonNull Collection<GHEvent> events) {
+        return isUpToDate(name, endpoint, events, recentlyCheckedSince());
+    }
+
+    /**
+     * Same as {@link #isUpToDate(GitHubRepositoryName, URL, Collection)},
+     * but the hook should be checked on GitHub not earlier than given time
+     *
+     * @param checkedSince time in millis the hook should be checked after
+     */
+    public boolean isUpToDate(@NonNull GitHubRepositoryName name, @NonNull URL endpoint,
+                              @NonNull Collection<GHEvent> events, long checkedSince) {
+        return isUpToDate(keyOf(name), endpoint, events, checkedSince);
+    }
+
+    private boolean isUpToDate(String key, URL endpoint, Collection<GHEvent> events, long checkedSince) {
+        HookState state = states.get(key);
+        return state != null
+                && state.url.equals(endpoint.toExternalForm())
+                && state.events.containsAll(events)
+                && state.checkedAt >= checkedSince;
+    }
+
+    /**
+     * @return time in millis hooks checked after are considered as checked recently
+     */
+    public static long recentlyCheckedSince() {
+        return System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(RECONCILE_AFTER_MINUTES) + 1;
+    }
+
+    /**
+     * Remembers state of the hook just checked or created on GitHub
+     */
+    public void record(@NonNull GitHubRepositoryName name, long hookId, @NonNull URL endpoint,
+                       @NonNull Collection<GHEvent> events) {
+        record(keyOf(name), hookId, endpoint, events);
+    }
+
+    private void record(String key, long hookId, URL endpoint, Collection<GHEvent> events) {
+        states.put(key, new HookState(hookId, endpoint.toExternalForm(), events));
+        saveLater();
+    }
+
+    /**
+     * Forgets the hook, so it's checked on GitHub on next registration
+     */
+    public void forget(@NonNull GitHubRepositoryName name) {
+        if (states.remove(keyOf(name)) != null) {
+            saveLater();
+        }
+    }
+
+    /**
+     * Same as {@link #isUpToDate(GitHubRepositoryName, URL, Collection)} for organization webhook
+     */
+    public boolean isOrganizationUpToDate(@NonNull String host, @NonNull String organization, @NonNull URL endpoint,
+                                          @NonNull Collection<GHEvent> events) {
+        return isOrganizationUpToDate(host, organization, endpoint, events, recentlyCheckedSince());
+    }
+
+    /**
+     * Same as {@link #isUpToDate(GitHubRepositoryName, URL, Collection, long)} for organization webhook
+     */
+    public boolean isOrganizationUpToDate(@NonNull String host, @NonNull String organization, @NonNull URL endpoint,
+                                          @NonNull Collection<GHEvent> events, long checkedSince) {
+        return isUpToDate(organizationKeyOf(host, organization), endpoint, events, checkedSince);
+    }
+
+    /**
+     * @return true if organization webhook to endpoint was registered, no matter how long ago it was checked
+     */
+    public boolean hasOrganizationHook(@NonNull String host, @NonNull String organization, @NonNull URL endpoint) {
+        HookState state = states.get(organizationKeyOf(host, organization));
+        return state != null && state.url.equals(endpoint.toExternalForm());
+    }
+
+    /**
+     * Same as {@link #record(GitHubRepositoryName, long, URL, Collection)} for organization webhook
+     */
+    public void recordOrganization(@NonNull String host, @NonNull String organization, long hookId,
+                                   @NonNull URL endpoint, @NonNull Collection<GHEvent> events) {
+        record(organizationKeyOf(host, organization), hookId, endpoint, events);
+    }
+
+    /**
+     * Same as {@link #forget(GitHubRepositoryName)} for organization webhook
+     */
+    public void forgetOrganization(@NonNull String host, @NonNull String organization) {
+        if (states.remove(organizationKeyOf(host, organization)) != null) {
+            saveLater();
+        }
+    }
+
+    /**
+     * @return id of the known hook or null if nothing is known about hook of the repository
+     */
+    @CheckForNull
+    public Long hookId(@NonNull GitHubRepositoryName name) {
+        HookState state = states.get(keyOf(name));
+        return state == null ? null : state.hookId;
+    }
+
+    private static String keyOf(GitHubRepositoryName name) {
+        return (name.getHost() + '/' + name.getUserName() + '/' + name.getRepositoryName()).toLowerCase(Locale.ENGLISH);
+    }
+
+    private static String organizationKeyOf(String host, String organization) {
+        return (host + '/' + organization).toLowerCase(Locale.ENGLISH);
+    }
+
+    private void saveLater() {
+        if (saveScheduled.compareAndSet(false, true)) {
+            Timer.get().schedule(() -> {
+                saveScheduled.set(false);
+                save();
+            }, SAVE_DELAY_SECONDS, TimeUnit.SECONDS);
+        }
+    }
+
+    @Override
+    public synchronized void save() {
+        try {
+            getConfigFile().write(this);
+        } catch (IOException e) {
+            LOGGER.warn("Failed to save known hooks state", e);
+        }
+    }
+
+    private synchronized void load() {
+        XmlFile file = getConfigFile();
+        if (!file.exists()) {
+            return;
+        }
+        try {
+            file.unmarshal(this);
+        } catch (IOException e) {
+            LOGGER.warn("Failed to load {}", file, e);
+        }
+    }
+
+    private XmlFile getConfigFile() {
+        return new XmlFile(new File(Jenkins.get().getRootDir(), getClass().getName() + ".xml"));
+    }
+
+    /**
+     * @return the instance of cache
+     */
+    public static HookStateCache get() {
+        return Jenkins.get().getExtensionList(HookStateCache.class).get(HookStateCache.class);
+    }
+
+    /**
+     * Hook of one repository
+     */
+    private static final class HookState {
+        private final long hookId;
+        private final String url;
+        private final Set<GHEvent> events;
+        private final long checkedAt;
+
+        private HookState(long hookId, String url, Collection<GHEvent> events) {
+            this.hookId = hookId;
+            this.url = url;
+            this.events = events.isEmpty() ? EnumSet.noneOf(GHEvent.class) : EnumSet.copyOf(events);
+            this.checkedAt = System.currentTimeMillis();
+        }
+    }
+}
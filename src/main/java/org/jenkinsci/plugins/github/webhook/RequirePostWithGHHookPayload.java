@@ -1,8 +1,7 @@
 package org.jenkinsci.plugins.github.webhook;
 
 import com.cloudbees.jenkins.GitHubWebHook;
-import com.google.common.base.Optional;
-import hudson.util.Secret;
+import org.apache.commons.codec.binary.Hex;
 import org.jenkinsci.main.modules.instance_identity.InstanceIdentity;
 import org.jenkinsci.plugins.github.GitHubPlugin;
 import org.jenkinsci.plugins.github.config.HookSecretConfig;
@@ -18,6 +17,7 @@ import org.slf4j.Logger;
 
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletResponse;
+import javax.crypto.Mac;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.lang.annotation.Retention;
@@ -149,6 +149,8 @@ public @interface RequirePostWithGHHookPayload {
          * If no hook secret is configured, then the signature is ignored.
          *
          * Uses the configured signature algorithm (SHA-256 by default, SHA-1 for legacy support).
+         * Signatures computed while reading json body are reused, form payloads are re-encoded once to be hashed.
+         * Secrets are tried in order given by {@link HookSecretSelector}.
          *
          * @param req Incoming request.
          * @throws InvocationTargetException if any of preconditions is not satisfied
@@ -159,38 +161,32 @@ public @interface RequirePostWithGHHookPayload {
 
             if (!secretConfigs.isEmpty()) {
                 boolean validSignatureFound = false;
+                int attempts = 0;
+                // prepared only if signature was not computed while reading the body
+                String payload = null;
 
-                for (HookSecretConfig config : secretConfigs) {
-                    Secret secret = config.getHookSecret();
-                    if (secret == null) {
-                        continue;
-                    }
-
+                for (HookSecretConfig config : HookSecretSelector.candidates(req, secretConfigs)) {
                     SignatureAlgorithm algorithm = config.getSignatureAlgorithm();
-                    String headerName = algorithm.getHeaderName();
-                    String expectedPrefix = algorithm.getSignaturePrefix();
-
-                    Optional<String> signHeader = Optional.fromNullable(req.getHeader(headerName));
-                    if (!signHeader.isPresent()) {
-                        LOGGER.debug("No signature header {} found for algorithm {}", headerName, algorithm);
-                        continue;
-                    }
-
-                    String fullSignature = signHeader.get();
-                    if (!fullSignature.startsWith(expectedPrefix)) {
-                        LOGGER.debug("Signature header {} does not start with expected prefix {}",
-                                   fullSignature, expectedPrefix);
-                        continue;
-                    }
-
-                    String digest = substringAfter(fullSignature, expectedPrefix);
+                    String fullSignature = req.getHeader(algorithm.getHeaderName());
+                    String digest = substringAfter(fullSignature, algorithm.getSignaturePrefix());
                     LOGGER.trace("Verifying {} signature from header {}", algorithm, fullSignature);
 
-                    boolean isValid = GHWebhookSignature.webhookSignature(payloadFrom(req, args), secret)
-                                                        .matches(digest, algorithm);
+                    String computed = WebhookPayloadReader.digestFrom(req, config);
+                    if (computed == null) {
+                        Mac mac = HookSecretMacs.macFor(config);
+                        if (mac == null) {
+                            continue;
+                        }
+                        if (payload == null) {
+                            payload = payloadFrom(req, args);
+                        }
+                        computed = Hex.encodeHexString(mac.doFinal(payload.getBytes(StandardCharsets.UTF_8)));
+                    }
+                    attempts++;
 
-                    if (isValid) {
+                    if (GHWebhookSignature.isEqual(computed, digest)) {
                         validSignatureFound = true;
+                        HookSecretSelector.matched(req, config);
                         // Log deprecation warning for SHA-1 usage
                         if (algorithm == SignatureAlgorithm.SHA1) {
                             LOGGER.warn("Using deprecated SHA-1 signature validation. "
@@ -204,6 +200,7 @@ public @interface RequirePostWithGHHookPayload {
                         LOGGER.debug("Signature validation failed for algorithm {}", algorithm);
                     }
                 }
+                HookSecretSelector.record(attempts, validSignatureFound);
 
                 isTrue(validSignatureFound,
                        "No valid signature found. Ensure webhook is configured with a supported signature algorithm "
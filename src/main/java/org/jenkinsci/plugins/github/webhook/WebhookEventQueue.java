@@ -0,0 +1,169 @@
+package org.jenkinsci.plugins.github.webhook;
+
+import hudson.Extension;
+import hudson.ExtensionList;
+import hudson.XmlFile;
+import hudson.model.Saveable;
+import hudson.model.listeners.SaveableListener;
+import hudson.util.DaemonThreadFactory;
+import hudson.util.NamingThreadFactory;
+import org.jenkinsci.plugins.github.GitHubPlugin;
+import org.jenkinsci.plugins.github.config.GitHubPluginConfig;
+import org.jenkinsci.plugins.github.extension.GHEventsSubscriber;
+import org.jenkinsci.plugins.github.extension.GHSubscriberEvent;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.jenkinsci.plugins.github.extension.GHEventsSubscriber.isInterestedIn;
+import static org.jenkinsci.plugins.github.extension.GHEventsSubscriber.processEvent;
+import static org.jenkinsci.plugins.github.util.FluentIterableWrapper.from;
+
+/**
+ * Bounded queue of received webhook events, used when
+ * {@link GitHubPluginConfig#isAsyncWebhookProcessing()} is enabled.
+ *
+ * Events are accepted on the request thread and passed to {@link GHEventsSubscriber}s by a fixed pool of workers,
+ * so slow subscribers can't delay the response to GitHub. When the queue is full, new events are rejected
+ * and the caller should ask GitHub to retry later.
+ *
+ * Capacity and worker count are taken from the global configuration and applied on its save.
+ */
+@Extension
+@Restricted(NoExternalUse.class)
+public class WebhookEventQueue {
+    private static final Logger LOGGER = LoggerFactory.getLogger(WebhookEventQueue.class);
+
+    private ThreadPoolExecutor executor;
+
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong processed = new AtomicLong();
+
+    /**
+     * Passes event to all interested subscribers in the current thread
+     *
+     * @param event received from GitHub
+     */
+    public static void dispatch(@NonNull GHSubscriberEvent event) {
+        from(GHEventsSubscriber.all())
+                .filter(isInterestedIn(event.getGHEvent()))
+                .transform(processEvent(event)).toList();
+    }
+
+    /**
+     * Enqueues event to be dispatched by workers
+     *
+     * @param event received from GitHub
+     *
+     * @return false if queue is full and event was rejected
+     */
+    public boolean offer(@NonNull final GHSubscriberEvent event) {
+        try {
+            submit(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        dispatch(event);
+                    } finally {
+                        processed.incrementAndGet();
+                    }
+                }
+            });
+            accepted.incrementAndGet();
+            return true;
+        } catch (RejectedExecutionException e) {
+            rejected.incrementAndGet();
+            LOGGER.warn("Webhook event queue is full ({} events), rejecting {} event {}",
+                    getQueueDepth(), event.getGHEvent(), event.getEventGuid());
+            return false;
+        }
+    }
+
+    /**
+     * @return number of events waiting for a worker
+     */
+    public synchronized int getQueueDepth() {
+        return executor == null ? 0 : executor.getQueue().size();
+    }
+
+    /**
+     * @return number of workers currently processing events
+     */
+    public synchronized int getActiveWorkers() {
+        return executor == null ? 0 : executor.getActiveCount();
+    }
+
+    public long getAcceptedCount() {
+        return accepted.get();
+    }
+
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+
+    public long getProcessedCount() {
+        return processed.get();
+    }
+
+    /**
+     * Submits under the same lock as {@link #reconfigure(GitHubPluginConfig)},
+     * so the pool can't be shut down between its lookup and the submit
+     */
+    private synchronized void submit(Runnable task) {
+        executor().execute(task);
+    }
+
+    private synchronized ThreadPoolExecutor executor() {
+        if (executor == null) {
+            GitHubPluginConfig config = GitHubPlugin.configuration();
+            int workers = config.getWebhookWorkerThreads();
+            executor = new ThreadPoolExecutor(workers, workers, 60L, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<Runnable>(config.getWebhookQueueCapacity()),
+                    new NamingThreadFactory(new DaemonThreadFactory(), "GitHubWebHook event worker"));
+            executor.allowCoreThreadTimeOut(true);
+        }
+        return executor;
+    }
+
+    /**
+     * Drops current pool if settings were changed, so the next event creates one with actual settings.
+     * Already queued events are still processed by old workers
+     */
+    private synchronized void reconfigure(GitHubPluginConfig config) {
+        if (executor == null) {
+            return;
+        }
+        boolean changed = executor.getMaximumPoolSize() != config.getWebhookWorkerThreads()
+                || executor.getQueue().size() + executor.getQueue().remainingCapacity()
+                != config.getWebhookQueueCapacity();
+        if (changed) {
+            LOGGER.debug("Webhook event queue settings changed, replacing workers");
+            executor.shutdown();
+            executor = null;
+        }
+    }
+
+    public static WebhookEventQueue get() {
+        return ExtensionList.lookupSingleton(WebhookEventQueue.class);
+    }
+
+    @Extension
+    @Restricted(NoExternalUse.class)
+    public static class OnConfigSave extends SaveableListener {
+        @Override
+        public void onChange(Saveable o, XmlFile file) {
+            if (o instanceof GitHubPluginConfig) {
+                get().reconfigure((GitHubPluginConfig) o);
+            }
+        }
+    }
+}
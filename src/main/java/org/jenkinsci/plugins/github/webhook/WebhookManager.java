@@ -11,31 +11,49 @@ import org.jenkinsci.plugins.github.GitHubPlugin;
 import org.jenkinsci.plugins.github.admin.GitHubHookRegisterProblemMonitor;
 import org.jenkinsci.plugins.github.config.HookSecretConfig;
 import org.jenkinsci.plugins.github.extension.GHEventsSubscriber;
+import org.jenkinsci.plugins.github.internal.GitHubCallLimiter;
+import org.jenkinsci.plugins.github.internal.GitHubHookEditor;
+import org.jenkinsci.plugins.github.internal.GitHubRepositoryCache;
 import org.jenkinsci.plugins.github.util.FluentIterableWrapper;
 import org.jenkinsci.plugins.github.util.misc.NullSafeFunction;
 import org.jenkinsci.plugins.github.util.misc.NullSafePredicate;
 import org.kohsuke.github.GHEvent;
 import org.kohsuke.github.GHException;
 import org.kohsuke.github.GHHook;
+import org.kohsuke.github.GHOrganization;
 import org.kohsuke.github.GHRepository;
+import org.kohsuke.github.GitHub;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import edu.umd.cs.findbugs.annotations.CheckForNull;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import java.io.IOException;
 import java.net.URL;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
 
 import static com.cloudbees.jenkins.GitHubRepositoryNameContributor.parseAssociatedNames;
+import static com.google.common.base.Predicates.equalTo;
+import static com.google.common.base.Predicates.not;
 import static com.google.common.base.Predicates.notNull;
 import static com.google.common.base.Predicates.or;
 import static java.lang.String.format;
 import static org.jenkinsci.plugins.github.config.GitHubServerConfig.allowedToManageHooks;
+import static org.jenkinsci.plugins.github.config.GitHubServerConfig.loginToGithub;
+import static org.jenkinsci.plugins.github.config.GitHubServerConfig.withHookOrganization;
 import static org.jenkinsci.plugins.github.extension.GHEventsSubscriber.extractEvents;
 import static org.jenkinsci.plugins.github.extension.GHEventsSubscriber.isApplicableFor;
 import static org.jenkinsci.plugins.github.util.FluentIterableWrapper.from;
@@ -50,6 +68,8 @@ import static org.jenkinsci.plugins.github.util.FluentIterableWrapper.from;
 public class WebhookManager {
     private static final Logger LOGGER = LoggerFactory.getLogger(WebhookManager.class);
 
+    private static final ConcurrentMap<String, ReentrantLock> ORGANIZATION_HOOK_LOCKS = new ConcurrentHashMap<>();
+
     private final URL endpoint;
 
     /**
@@ -142,7 +162,7 @@ public class WebhookManager {
      * @param aliveRepos repository list which has enabled trigger in jobs
      */
     public void unregisterFor(GitHubRepositoryName name, List<GitHubRepositoryName> aliveRepos) {
-        try {
+        try (GitHubCallLimiter.Permit permit = GitHubCallLimiter.acquire(name.getHost())) {
             GHRepository repo = repoWithWebhookAccess(name);
             if (repo == null) {
                 return;
@@ -153,6 +173,9 @@ public class WebhookManager {
             Predicate<GHHook> predicate = aliveRepos.contains(name)
                     ? serviceWebhookFor(endpoint) // permanently clear service hooks (JENKINS-28138)
                     : or(serviceWebhookFor(endpoint), webhookFor(endpoint));
+            if (!aliveRepos.contains(name)) {
+                HookStateCache.get().forget(name);
+            }
 
             from(fetchHooks().apply(repo))
                     .filter(predicate)
@@ -165,6 +188,24 @@ public class WebhookManager {
         }
     }
 
+    /**
+     * Deletes hooks of the repository to the endpoint when organization webhook of its owner is registered,
+     * so events of the repository moved to organization webhook are not delivered twice.
+     * Does nothing while the organization webhook is not known to exist
+     *
+     * @param name repository covered by organization webhook, see {@link #isCoveredByOrganizationHook}
+     *
+     * @since 1.48.0
+     */
+    public void unregisterCoveredByOrganizationHook(@NonNull GitHubRepositoryName name) {
+        if (!HookStateCache.get().hasOrganizationHook(name.getHost(), name.getUserName(), endpoint)) {
+            LOGGER.debug("Organization hook of {} is not registered yet, keeping hooks of {}",
+                    name.getUserName(), name);
+            return;
+        }
+        unregisterFor(name, Collections.<GitHubRepositoryName>emptyList());
+    }
+
     private GHRepository repoWithWebhookAccess(GitHubRepositoryName name) {
         FluentIterableWrapper<GHRepository> reposAllowedtoManageWebhooks = from(name.resolve(allowedToManageHooks()));
         if (!reposAllowedtoManageWebhooks.first().isPresent()) {
@@ -178,12 +219,14 @@ public class WebhookManager {
             return null;
         }
         GHRepository repo = repoWithAdminAccess.get();
+        GitHubRepositoryCache.succeeded(repo);
         return repo;
     }
 
     /**
      * Main logic of {@link #registerFor(Item)}.
-     * Updates hooks with replacing old ones with merged new ones
+     * Edits existing hook with merged events and deletes its duplicates.
+     * Hooks are replaced with merged new one only if they can't be edited
      *
      * @param events calculated events list to be registered in hook
      *
@@ -194,39 +237,274 @@ public class WebhookManager {
             @Override
             protected GHHook applyNullSafe(@NonNull GitHubRepositoryName name) {
                 try {
-                    GHRepository repo = repoWithWebhookAccess(name);
-                    if (repo == null) {
-                        return null;
-                    }
+                    return createHookFor(name, events);
+                } catch (Exception e) {
+                    LOGGER.warn("Failed to add GitHub webhook for {}", name, e);
+                    GitHubHookRegisterProblemMonitor.get().registerProblem(name, e);
+                }
+                return null;
+            }
+        };
+    }
+
+    /**
+     * Same as {@link #createHookSubscribedTo(List)} for one repository, but failures are thrown to the caller
+     *
+     * @param name   repository to register hook for
+     * @param events events to be registered in hook
+     *
+     * @return created hook or null if hooks of the repo are not managed or it already has all the events
+     * @since 1.48.0
+     */
+    @CheckForNull
+    public GHHook createHookFor(@NonNull GitHubRepositoryName name, @NonNull List<GHEvent> events) throws IOException {
+        return createHookFor(name, events, false);
+    }
+
+    /**
+     * Same as {@link #createHookFor(GitHubRepositoryName, List)}.
+     * If forced, hooks are checked on GitHub even if they are known to be registered recently,
+     * e.g. when an administrator re-registers hooks to fix them
+     *
+     * @param name   repository to register hook for
+     * @param events events to be registered in hook
+     * @param force  true to skip known state of hooks, see {@link HookStateCache}
+     *
+     * @return created hook or null if hooks of the repo are not managed or it already has all the events
+     * @since 1.48.0
+     */
+    @CheckForNull
+    public GHHook createHookFor(@NonNull GitHubRepositoryName name, @NonNull List<GHEvent> events, boolean force)
+            throws IOException {
+        return force
+                ? createHookFor(name, events, Long.MAX_VALUE, true)
+                : createHookFor(name, events, HookStateCache.recentlyCheckedSince(), false);
+    }
+
+    /**
+     * Same as forced {@link #createHookFor(GitHubRepositoryName, List, boolean)},
+     * but hooks checked on GitHub since given time are not checked again.
+     * So re-registration of many repositories of one organization reconciles its organization webhook only once
+     *
+     * @param name         repository to register hook for
+     * @param events       events to be registered in hook
+     * @param checkedSince time in millis, e.g. start of re-registration
+     *
+     * @return created hook or null if hooks of the repo are not managed or it already has all the events
+     * @since 1.48.0
+     */
+    @CheckForNull
+    public GHHook createHookFor(@NonNull GitHubRepositoryName name, @NonNull List<GHEvent> events, long checkedSince)
+            throws IOException {
+        return createHookFor(name, events, checkedSince, true);
+    }
 
-                    Validate.notEmpty(events, "Events list for hook can't be empty");
+    @CheckForNull
+    private GHHook createHookFor(GitHubRepositoryName name, List<GHEvent> events, long checkedSince, boolean force)
+            throws IOException {
+        Validate.notEmpty(events, "Events list for hook can't be empty");
 
-                    Set<GHHook> hooks = from(fetchHooks().apply(repo))
-                            .filter(webhookFor(endpoint))
-                            .toSet();
+        HookStateCache known = HookStateCache.get();
+        if (isCoveredByOrganizationHook(name)) {
+            GHHook hook = createOrganizationHookFor(name.getHost(), name.getUserName(), events, checkedSince);
+            if (force || known.hookId(name) != null) {
+                unregisterCoveredByOrganizationHook(name);
+            }
+            return hook;
+        }
 
-                    Set<GHEvent> alreadyRegistered = from(hooks)
-                            .transformAndConcat(eventsFromHook()).toSet();
+        if (known.isUpToDate(name, endpoint, events, checkedSince)) {
+            LOGGER.debug("Hook of {} is known to be registered for events {}", name, events);
+            return null;
+        }
 
-                    if (hooks.size() == 1 && alreadyRegistered.containsAll(events)) {
-                        LOGGER.debug("Hook already registered for events {}", events);
-                        return null;
-                    }
+        try {
+            return registerHook(name, events, known);
+        } catch (IOException | RuntimeException e) {
+            known.forget(name);
+            throw e;
+        }
+    }
 
-                    Set<GHEvent> merged = from(alreadyRegistered).append(events).toSet();
+    @CheckForNull
+    private GHHook registerHook(GitHubRepositoryName name, List<GHEvent> events, HookStateCache known)
+            throws IOException {
+        try (GitHubCallLimiter.Permit permit = GitHubCallLimiter.acquire(name.getHost())) {
+            GHRepository repo = repoWithWebhookAccess(name);
+            if (repo == null) {
+                known.forget(name);
+                return null;
+            }
 
+            Set<GHHook> hooks = from(fetchHooks().apply(repo))
+                    .filter(webhookFor(endpoint))
+                    .toSet();
+
+            Set<GHEvent> alreadyRegistered = from(hooks)
+                    .transformAndConcat(eventsFromHook()).toSet();
+
+            if (hooks.size() == 1 && alreadyRegistered.containsAll(events)) {
+                LOGGER.debug("Hook already registered for events {}", events);
+                known.record(name, hooks.iterator().next().getId(), endpoint, alreadyRegistered);
+                return null;
+            }
+
+            Set<GHEvent> merged = from(alreadyRegistered).append(events).toSet();
+
+            if (!hooks.isEmpty()) {
+                GHHook existing = hooks.iterator().next();
+                if (editWebhook(name.getHost(), merged).apply(existing)) {
+                    log("Edited hook").apply(existing);
                     from(hooks)
+                            .filter(not(equalTo(existing)))
                             .filter(deleteWebhook())
-                            .filter(log("Replaced hook")).toList();
-
-                    return createWebhook(endpoint, merged).apply(repo);
-                } catch (Exception e) {
-                    LOGGER.warn("Failed to add GitHub webhook for {}", name, e);
-                    GitHubHookRegisterProblemMonitor.get().registerProblem(name, e);
+                            .filter(log("Deleted duplicate hook")).toList();
+                    known.record(name, existing.getId(), endpoint, merged);
+                    return existing;
                 }
+            }
+
+            from(hooks)
+                    .filter(deleteWebhook())
+                    .filter(log("Replaced hook")).toList();
+
+            GHHook created = createWebhook(endpoint, merged).apply(repo);
+            if (created != null) {
+                known.record(name, created.getId(), endpoint, merged);
+            } else {
+                known.forget(name);
+            }
+            return created;
+        }
+    }
+
+    /**
+     * Registers organization webhook subscribed to events of all subscribers.
+     * Serialized per organization, so concurrent registrations for repositories
+     * of the same organization don't create duplicated hooks, and the ones waiting for the lock
+     * find the hook already checked. Lock is not a monitor, so virtual threads don't pin carriers on GitHub calls
+     *
+     * @return created or edited hook or null if the hook is already subscribed to all events
+     */
+    @CheckForNull
+    private GHHook createOrganizationHookFor(String host, String organization, List<GHEvent> events,
+                                             long checkedSince) throws IOException {
+        Set<GHEvent> wanted = from(GHEventsSubscriber.all())
+                .transformAndConcat(extractEvents()).append(events).toSet();
+
+        ReentrantLock lock = ORGANIZATION_HOOK_LOCKS.computeIfAbsent(
+                (host + '/' + organization).toLowerCase(Locale.ENGLISH), key -> new ReentrantLock());
+        lock.lock();
+        try {
+            HookStateCache known = HookStateCache.get();
+            if (known.isOrganizationUpToDate(host, organization, endpoint, wanted, checkedSince)) {
+                LOGGER.debug("Organization hook of {} is known to be registered for events {}", organization, wanted);
                 return null;
             }
-        };
+
+            try {
+                return registerOrganizationHook(host, organization, wanted, known);
+            } catch (IOException | RuntimeException e) {
+                known.forgetOrganization(host, organization);
+                throw e;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Should be called under the lock of organization, see {@link #ORGANIZATION_HOOK_LOCKS}
+     */
+    @CheckForNull
+    private GHHook registerOrganizationHook(String host, String organization, Set<GHEvent> wanted,
+                                            HookStateCache known) throws IOException {
+        IOException failure = null;
+        for (GitHub github : from(GitHubPlugin.configuration().configsFor(host, organization))
+                .filter(withHookOrganization(organization))
+                .transform(loginToGithub())
+                .filter(notNull())) {
+            GHOrganization org;
+            List<GHHook> all;
+            try (GitHubCallLimiter.Permit permit = GitHubCallLimiter.acquire(host)) {
+                org = github.getOrganization(organization);
+                all = org.getHooks();
+            } catch (IOException e) {
+                LOGGER.debug("Can't fetch hooks of organization {}", organization, e);
+                failure = e;
+                continue;
+            }
+
+            try (GitHubCallLimiter.Permit permit = GitHubCallLimiter.acquire(host)) {
+                Set<GHHook> hooks = from(all).filter(webhookFor(endpoint)).toSet();
+                Set<GHEvent> registered = from(hooks).transformAndConcat(eventsFromHook()).toSet();
+
+                if (hooks.size() == 1 && registered.containsAll(wanted)) {
+                    LOGGER.debug("Organization hook of {} already registered for events {}", organization, wanted);
+                    known.recordOrganization(host, organization, hooks.iterator().next().getId(), endpoint, wanted);
+                    return null;
+                }
+
+                Set<GHEvent> merged = from(registered).append(wanted).toSet();
+
+                GHHook hook = null;
+                if (!hooks.isEmpty() && editWebhook(host, merged).apply(hooks.iterator().next())) {
+                    hook = hooks.iterator().next();
+                }
+                from(hooks)
+                        .filter(not(equalTo(hook)))
+                        .filter(deleteWebhook())
+                        .filter(log("Deleted organization hook")).toList();
+                if (hook == null) {
+                    hook = org.createHook("web", hookConfig(endpoint), merged, true);
+                }
+                LOGGER.info("GitHub organization webhook of {} is registered for events {}", organization, merged);
+                known.recordOrganization(host, organization, hook.getId(), endpoint, merged);
+                return hook;
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+        LOGGER.info("There are no github configs able to manage hooks of organization {}", organization);
+        return null;
+    }
+
+    /**
+     * @param name repository
+     *
+     * @return true if any config manages organization webhook of repository owner instead of repository hooks
+     * @since 1.48.0
+     */
+    public static boolean isCoveredByOrganizationHook(@NonNull GitHubRepositoryName name) {
+        return from(GitHubPlugin.configuration().configsFor(name.getHost(), name.getUserName()))
+                .firstMatch(withHookOrganization(name.getUserName()))
+                .isPresent();
+    }
+
+    /**
+     * Collects events of all subscribers applicable for items, so each repository can be processed only once
+     *
+     * @param items items to find repositories and events for
+     *
+     * @return union of events for each repository, repositories without any events are skipped
+     * @since 1.48.0
+     */
+    @NonNull
+    public static Map<GitHubRepositoryName, Set<GHEvent>> eventsByRepository(@NonNull Iterable<? extends Item> items) {
+        Map<GitHubRepositoryName, Set<GHEvent>> result = new LinkedHashMap<>();
+        for (Item item : items) {
+            List<GHEvent> events = from(GHEventsSubscriber.all())
+                    .filter(isApplicableFor(item))
+                    .transformAndConcat(extractEvents()).toList();
+            if (events.isEmpty()) {
+                continue;
+            }
+            for (GitHubRepositoryName name : parseAssociatedNames(item)) {
+                result.computeIfAbsent(name, key -> EnumSet.noneOf(GHEvent.class)).addAll(events);
+            }
+        }
+        return result;
     }
 
     /**
@@ -334,19 +612,7 @@ public class WebhookManager {
         return new NullSafeFunction<GHRepository, GHHook>() {
             protected GHHook applyNullSafe(@NonNull GHRepository repo) {
                 try {
-                    final HashMap<String, String> config = new HashMap<>();
-                    config.put("url", url.toExternalForm());
-                    config.put("content_type", "json");
-
-                    // We need to pick a secret to use, so use the first one defined.
-                    final Optional<Secret> secret = GitHubPlugin.configuration().getHookSecretConfigs().stream().
-                            map(HookSecretConfig::getHookSecret).filter(Objects::nonNull).findFirst();
-
-                    if (secret.isPresent()) {
-                        config.put("secret", secret.get().getPlainText());
-                    }
-
-                    return repo.createHook("web", config, events, true);
+                    return repo.createHook("web", hookConfig(url), events, true);
                 } catch (IOException e) {
                     throw new GHException("Failed to create hook", e);
                 }
@@ -354,6 +620,42 @@ public class WebhookManager {
         };
     }
 
+    /**
+     * Replaces events of existing hook, so deliveries are not lost between deletion and creation of the hook
+     *
+     * @param host   GitHub host of hook repository
+     * @param events full list of events hook should be subscribed to
+     *
+     * @return true if hook was edited, false if it should be recreated
+     */
+    protected Predicate<GHHook> editWebhook(final String host, final Set<GHEvent> events) {
+        return new NullSafePredicate<GHHook>() {
+            protected boolean applyNullSafe(@NonNull GHHook hook) {
+                return GitHubHookEditor.editEvents(host, hook, events);
+            }
+        };
+    }
+
+    /**
+     * @param url jenkins endpoint url
+     *
+     * @return config of new hook to the url
+     */
+    private static Map<String, String> hookConfig(URL url) {
+        final HashMap<String, String> config = new HashMap<>();
+        config.put("url", url.toExternalForm());
+        config.put("content_type", "json");
+
+        // We need to pick a secret to use, so use the first one defined.
+        final Optional<Secret> secret = GitHubPlugin.configuration().getHookSecretConfigs().stream().
+                map(HookSecretConfig::getHookSecret).filter(Objects::nonNull).findFirst();
+
+        if (secret.isPresent()) {
+            config.put("secret", secret.get().getPlainText());
+        }
+        return config;
+    }
+
     /**
      * @return annihilator for hook, returns true if deletion was successful
      */
@@ -0,0 +1,155 @@
+package org.jenkinsci.plugins.github.webhook;
+
+import jenkins.util.SystemProperties;
+import org.apache.commons.codec.binary.Hex;
+import org.jenkinsci.plugins.github.config.HookSecretConfig;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import jakarta.servlet.http.HttpServletRequest;
+import javax.crypto.Mac;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Reads body of the webhook request once, computing signature with the most probable hook secret on the fly.
+ *
+ * Secrets are expected to be ordered by {@link HookSecretSelector}, the first one with signature header
+ * of its algorithm present in the request is digested, so the body is passed once over a single buffer
+ * regardless of number of configured secrets.
+ * Computed digests are stored to the request with {@link #DIGESTS_ATTRIBUTE} to be checked
+ * by {@link RequirePostWithGHHookPayload.Processor} without hashing the payload again.
+ *
+ * Declared content length of the request is not trusted: the buffer starts with at most {@link #BUFFER_SIZE} bytes
+ * and grows with the bytes actually received, up to {@link #MAX_PAYLOAD_BYTES}.
+ */
+@Restricted(NoExternalUse.class)
+public final class WebhookPayloadReader {
+    /**
+     * Request attribute with {@code Map<HookSecretConfig, String>} of hex digests computed while reading
+     */
+    public static final String DIGESTS_ATTRIBUTE = WebhookPayloadReader.class.getName() + ".digests";
+
+    private static final int BUFFER_SIZE = 8192;
+
+    /**
+     * Max size of payload to read. GitHub caps payloads at 25 MB
+     */
+    static final int MAX_PAYLOAD_BYTES = SystemProperties.getInteger(
+            WebhookPayloadReader.class.getName() + ".maxPayloadBytes", 25 * 1024 * 1024);
+
+    private final Map<HookSecretConfig, Mac> macs = new IdentityHashMap<>();
+
+    private WebhookPayloadReader() {
+    }
+
+    /**
+     * @param req           request to check signature headers in
+     * @param secretConfigs configured hook secrets, most probable first
+     *
+     * @return reader which digests payload with the first secret having its signature header in request
+     */
+    @NonNull
+    public static WebhookPayloadReader forRequest(@NonNull HttpServletRequest req,
+                                                  @NonNull List<HookSecretConfig> secretConfigs) {
+        WebhookPayloadReader reader = new WebhookPayloadReader();
+        for (HookSecretConfig config : secretConfigs) {
+            SignatureAlgorithm algorithm = config.getSignatureAlgorithm();
+            if (req.getHeader(algorithm.getHeaderName()) == null) {
+                continue;
+            }
+            Mac mac = HookSecretMacs.macFor(config);
+            if (mac != null) {
+                reader.macs.put(config, mac);
+                break;
+            }
+        }
+        return reader;
+    }
+
+    /**
+     * Reads the stream till the end, updating digests with every chunk
+     *
+     * @param in            body of request
+     * @param contentLength declared length of body or negative if unknown, used only as a hint
+     *
+     * @return body decoded as UTF-8
+     * @throws IOException if body is longer than {@link #MAX_PAYLOAD_BYTES}
+     */
+    @NonNull
+    public String read(@NonNull InputStream in, long contentLength) throws IOException {
+        if (contentLength > MAX_PAYLOAD_BYTES) {
+            throw new IOException("Payload of " + contentLength + " bytes exceeds limit of "
+                    + MAX_PAYLOAD_BYTES + " bytes");
+        }
+        byte[] body = new byte[contentLength >= 0 ? (int) Math.min(contentLength, BUFFER_SIZE) : BUFFER_SIZE];
+        int size = 0;
+        while (true) {
+            if (size == body.length) {
+                // probe before growing, as buffer of declared length is exactly filled at the end of stream
+                int next = in.read();
+                if (next < 0) {
+                    break;
+                }
+                if (size >= MAX_PAYLOAD_BYTES) {
+                    throw new IOException("Payload exceeds limit of " + MAX_PAYLOAD_BYTES + " bytes");
+                }
+                body = Arrays.copyOf(body, (int) Math.min(MAX_PAYLOAD_BYTES,
+                        Math.max(BUFFER_SIZE, body.length * 2L)));
+                body[size] = (byte) next;
+                update(body, size, 1);
+                size++;
+                continue;
+            }
+            int read = in.read(body, size, body.length - size);
+            if (read < 0) {
+                break;
+            }
+            update(body, size, read);
+            size += read;
+        }
+        return new String(body, 0, size, UTF_8);
+    }
+
+    private void update(byte[] chunk, int offset, int length) {
+        for (Mac mac : macs.values()) {
+            mac.update(chunk, offset, length);
+        }
+    }
+
+    /**
+     * Finishes digests. Should be called once after {@link #read(InputStream, long)}
+     *
+     * @return hex encoded signature of payload per secret config
+     */
+    @NonNull
+    public Map<HookSecretConfig, String> digests() {
+        Map<HookSecretConfig, String> digests = new IdentityHashMap<>();
+        for (Map.Entry<HookSecretConfig, Mac> entry : macs.entrySet()) {
+            digests.put(entry.getKey(), Hex.encodeHexString(entry.getValue().doFinal()));
+        }
+        return Collections.unmodifiableMap(digests);
+    }
+
+    /**
+     * @return digest of payload computed while reading it or null if it was not computed for this config
+     */
+    @CheckForNull
+    @SuppressWarnings("unchecked")
+    public static String digestFrom(@NonNull HttpServletRequest req, @NonNull HookSecretConfig config) {
+        Object digests = req.getAttribute(DIGESTS_ATTRIBUTE);
+        if (!(digests instanceof Map)) {
+            return null;
+        }
+        return ((Map<HookSecretConfig, String>) digests).get(config);
+    }
+}
@@ -2,7 +2,6 @@ package org.jenkinsci.plugins.github.webhook.subscriber;
 
 import com.cloudbees.jenkins.GitHubPushTrigger;
 import com.cloudbees.jenkins.GitHubRepositoryName;
-import com.cloudbees.jenkins.GitHubRepositoryNameContributor;
 import com.cloudbees.jenkins.GitHubTriggerEvent;
 import com.cloudbees.jenkins.GitHubWebHook;
 import hudson.Extension;
@@ -10,14 +9,13 @@ import hudson.ExtensionList;
 import hudson.model.Item;
 import hudson.security.ACL;
 import java.io.IOException;
-import java.io.StringReader;
 import java.net.URL;
 import jenkins.model.Jenkins;
 import org.jenkinsci.plugins.github.extension.GHSubscriberEvent;
 import org.jenkinsci.plugins.github.extension.GHEventsSubscriber;
+import org.jenkinsci.plugins.github.internal.GitHubRepositoryJobIndex;
 import org.kohsuke.github.GHEvent;
 import org.kohsuke.github.GHEventPayload;
-import org.kohsuke.github.GitHub;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -68,7 +66,7 @@ public class DefaultPushGHEventSubscriber extends GHEventsSubscriber {
     protected void onEvent(final GHSubscriberEvent event) {
         GHEventPayload.Push push;
         try {
-            push = GitHub.offline().parseEventPayload(new StringReader(event.getPayload()), GHEventPayload.Push.class);
+            push = event.parsePayload(GHEventPayload.Push.class);
         } catch (IOException e) {
             LOGGER.warn("Received malformed PushEvent: " + event.getPayload(), e);
             return;
@@ -85,24 +83,25 @@ public class DefaultPushGHEventSubscriber extends GHEventsSubscriber {
             ACL.impersonate(ACL.SYSTEM, new Runnable() {
                 @Override
                 public void run() {
-                    for (Item job : Jenkins.getInstance().getAllItems(Item.class)) {
+                    GitHubRepositoryJobIndex index = GitHubRepositoryJobIndex.get();
+                    if (index == null) {
+                        LOGGER.warn("Index of repositories is not available, skipping {}", changedRepository);
+                        return;
+                    }
+                    Jenkins jenkins = Jenkins.getInstance();
+                    for (String fullName : index.jobsFor(changedRepository)) {
+                        Item job = jenkins.getItemByFullName(fullName, Item.class);
                         GitHubPushTrigger trigger = triggerFrom(job, GitHubPushTrigger.class);
                         if (trigger != null) {
-                            String fullDisplayName = job.getFullDisplayName();
-                            LOGGER.debug("Considering to poke {}", fullDisplayName);
-                            if (GitHubRepositoryNameContributor.parseAssociatedNames(job)
-                                    .contains(changedRepository)) {
-                                LOGGER.info("Poked {}", fullDisplayName);
-                                trigger.onPost(GitHubTriggerEvent.create()
-                                        .withTimestamp(event.getTimestamp())
-                                        .withOrigin(event.getOrigin())
-                                        .withTriggeredByUser(pusherName)
-                                        .build()
-                                );
-                            } else {
-                                LOGGER.debug("Skipped {} because it doesn't have a matching repository.",
-                                        fullDisplayName);
-                            }
+                            LOGGER.info("Poked {}", job.getFullDisplayName());
+                            trigger.onPost(GitHubTriggerEvent.create()
+                                    .withTimestamp(event.getTimestamp())
+                                    .withOrigin(event.getOrigin())
+                                    .withTriggeredByUser(pusherName)
+                                    .build()
+                            );
+                        } else {
+                            LOGGER.debug("Skipped {} because it doesn't exist or has no trigger anymore.", fullName);
                         }
                     }
                 }
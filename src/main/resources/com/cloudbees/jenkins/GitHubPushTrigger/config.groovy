@@ -1,6 +1,9 @@
 package com.cloudbees.jenkins.GitHubPushTrigger
 
 import com.cloudbees.jenkins.GitHubPushTrigger
+import lib.FormTagLib
+
+def f = namespace(FormTagLib)
 
 tr {
     td(colspan: 4) {
@@ -14,4 +17,13 @@ tr {
     }
 }
 
+f.advanced() {
+    f.entry(title: _("Debounce window (seconds)"), field: "debounceSeconds") {
+        f.number(clazz: "non-negative-number", min: 0, default: 0)
+    }
+    f.entry(title: _("Max debounce delay (seconds)"), field: "debounceMaxWaitSeconds") {
+        f.number(clazz: "positive-number", min: 1, default: GitHubPushTrigger.DEFAULT_DEBOUNCE_MAX_WAIT_SECONDS)
+    }
+}
+
 script(src:"${rootURL}${h.getResourcePath()}/plugin/github/js/warning.js")
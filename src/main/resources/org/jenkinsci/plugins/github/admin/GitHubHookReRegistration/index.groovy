@@ -0,0 +1,58 @@
+package org.jenkinsci.plugins.github.admin.GitHubHookReRegistration
+
+def st = namespace('jelly:stapler')
+def l = namespace(lib.LayoutTagLib)
+
+l.layout(title: _('Re-registration of GitHub hooks'), permission: app.MANAGE) {
+    l.header() {
+        if (!my.finished) {
+            meta('http-equiv': 'refresh', content: '5')
+        }
+    }
+    st.include(page: 'sidepanel.jelly', it: app)
+    l.main_panel {
+        h1 {
+            text(_('Re-registration of GitHub hooks'))
+        }
+
+        p {
+            if (my.finished) {
+                text(_('finished', my.repositories, my.items, my.durationSeconds))
+            } else {
+                text(_('running', my.processed, my.repositories, my.durationSeconds))
+            }
+        }
+
+        ul {
+            li {
+                text(_('created', my.created))
+            }
+            li {
+                text(_('failed', my.failures.size()))
+            }
+        }
+
+        if (!my.failures.isEmpty()) {
+            table(class: 'pane bigtable', style: 'width:auto') {
+                tr {
+                    th {
+                        text(_('Repository'))
+                    }
+                    th {
+                        text(_('Error'))
+                    }
+                }
+                my.failures.entrySet().each { entry ->
+                    tr {
+                        td {
+                            text("${entry.key.host}:${entry.key.userName}/${entry.key.repositoryName}")
+                        }
+                        td {
+                            text(entry.value)
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
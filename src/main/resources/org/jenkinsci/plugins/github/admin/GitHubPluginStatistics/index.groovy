@@ -0,0 +1,158 @@
+package org.jenkinsci.plugins.github.admin.GitHubPluginStatistics
+
+def st = namespace('jelly:stapler')
+def l = namespace(lib.LayoutTagLib)
+
+def section = { String title, Map<String, Object> values ->
+    h2 {
+        text(title)
+    }
+    table(class: 'jenkins-table jenkins-table--small jenkins-table--auto-width') {
+        values.each { name, value ->
+            tr {
+                td {
+                    text(name)
+                }
+                td {
+                    text(value)
+                }
+            }
+        }
+    }
+}
+
+l.layout(title: _('page.title'), permission: app.ADMINISTER) {
+    st.include(page: 'sidepanel.jelly', it: app)
+    l.main_panel {
+        h1 {
+            text(_('page.title'))
+        }
+        p {
+            text(_('page.description'))
+        }
+
+        section(_('names.title'), [
+                (_('names.hits'))  : my.associatedNamesHits,
+                (_('names.misses')): my.associatedNamesMisses,
+        ])
+
+        def events = my.webhookEventQueue
+        section(_('events.title'), [
+                (_('events.depth'))    : events.queueDepth,
+                (_('events.workers'))  : events.activeWorkers,
+                (_('events.accepted')) : events.acceptedCount,
+                (_('events.rejected')) : events.rejectedCount,
+                (_('events.processed')): events.processedCount,
+        ])
+
+        section(_('signatures.title'), [
+                (_('signatures.deliveries')): my.signatureDeliveries,
+                (_('signatures.attempts'))  : my.signatureAttempts,
+                (_('signatures.average'))   : my.signatureAttemptsPerDelivery,
+                (_('signatures.failures'))  : my.signatureFailures,
+        ])
+
+        def trigger = my.pushTrigger
+        section(_('polling.title'), [
+                (_('polling.queue'))    : trigger.pollingQueueLength,
+                (_('polling.active'))   : trigger.pollingActiveThreads,
+                (_('polling.received')) : trigger.coalescer.receivedCount,
+                (_('polling.coalesced')): trigger.coalescer.coalescedCount,
+                (_('polling.polls'))    : trigger.coalescer.pollCount,
+                (_('polling.dropped'))  : trigger.coalescer.droppedCount,
+                (_('polling.pending'))  : trigger.coalescer.pendingCount,
+                (_('polling.debounced')): trigger.debouncer.debouncedCount,
+                (_('polling.waiting'))  : trigger.debouncer.waitingCount,
+        ])
+
+        def cleaner = my.cleaner
+        if (cleaner != null) {
+            section(_('cleaner.title'), [
+                    (_('cleaner.queue'))  : cleaner.queueSize,
+                    (_('cleaner.age'))    : cleaner.queueAgeMillis,
+                    (_('cleaner.cleaned')): cleaner.cleanedCount,
+            ])
+        }
+
+        h2 {
+            text(_('http.title'))
+        }
+        if (my.httpPools.isEmpty()) {
+            p {
+                text(_('http.none'))
+            }
+        } else {
+            table(class: 'jenkins-table jenkins-table--small jenkins-table--auto-width') {
+                tr {
+                    [_('http.host'), _('http.connections'), _('http.idle'), _('http.active'),
+                     _('http.waiting')].each { header ->
+                        th {
+                            text(header)
+                        }
+                    }
+                }
+                my.httpPools.each { host, pool ->
+                    tr {
+                        td {
+                            text(host)
+                        }
+                        td {
+                            text(pool.connectionCount)
+                        }
+                        td {
+                            text(pool.idleConnectionCount)
+                        }
+                        td {
+                            text(pool.activeRequests)
+                        }
+                        td {
+                            text(pool.waitingRequests)
+                        }
+                    }
+                }
+            }
+        }
+
+        h2 {
+            text(_('rateLimit.title'))
+        }
+        if (my.rateLimiters.isEmpty()) {
+            p {
+                text(_('rateLimit.none'))
+            }
+        } else {
+            table(class: 'jenkins-table jenkins-table--small jenkins-table--auto-width') {
+                tr {
+                    [_('rateLimit.config'), _('rateLimit.limit'), _('rateLimit.remaining'), _('rateLimit.reset'),
+                     _('rateLimit.throttled'), _('rateLimit.waited')].each { header ->
+                        th {
+                            text(header)
+                        }
+                    }
+                }
+                my.rateLimiters.each { name, limiter ->
+                    tr {
+                        td {
+                            text(name)
+                        }
+                        td {
+                            text(limiter.limit)
+                        }
+                        td {
+                            text(limiter.remaining)
+                        }
+                        td {
+                            text(limiter.resetAtMillis == 0 ? '-' : new Date(limiter.resetAtMillis))
+                        }
+                        td {
+                            text(limiter.throttledCount)
+                        }
+                        td {
+                            text(limiter.waitedMillis)
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package org.jenkinsci.plugins.github.config.GitHubPluginConfig
 
 import com.cloudbees.jenkins.GitHubPushTrigger
+import org.jenkinsci.plugins.github.config.GitHubPluginConfig
 import lib.FormTagLib
 
 def f = namespace(FormTagLib);
@@ -51,6 +52,48 @@ f.section(title: descriptor.displayName) {
             }
         }
 
+        f.optionalBlock(title: _("Acknowledge webhooks before processing them"),
+                field: "asyncWebhookProcessing",
+                inline: true) {
+            f.entry(title: _("Event queue capacity"), field: "webhookQueueCapacity") {
+                f.number(clazz: "positive-number", min: 1, default: GitHubPluginConfig.DEFAULT_WEBHOOK_QUEUE_CAPACITY)
+            }
+            f.entry(title: _("Event worker threads"), field: "webhookWorkerThreads") {
+                f.number(clazz: "positive-number", min: 1, default: GitHubPluginConfig.DEFAULT_WEBHOOK_WORKER_THREADS)
+            }
+        }
+
+        f.entry(title: _("Polling threads"), field: "pollingThreads") {
+            f.number(clazz: "positive-number", min: 1, default: GitHubPluginConfig.DEFAULT_POLLING_THREADS)
+        }
+        f.entry(title: _("Polling queue capacity"), field: "pollingQueueCapacity") {
+            f.number(clazz: "non-negative-number", min: 0, default: GitHubPluginConfig.DEFAULT_POLLING_QUEUE_CAPACITY)
+        }
+        f.entry(title: _("When polling queue is full"), field: "pollingRejectionPolicy") {
+            f.select()
+        }
+        f.entry(title: _("Use virtual threads for polling"), field: "pollingVirtualThreads") {
+            f.checkbox()
+        }
+        f.entry(title: _("Use virtual threads for hook registration"), field: "hookManagementVirtualThreads") {
+            f.checkbox()
+        }
+        f.entry(title: _("Max concurrent calls to each GitHub server"), field: "maxConcurrentGitHubCalls") {
+            f.number(clazz: "positive-number", min: 1, default: GitHubPluginConfig.DEFAULT_MAX_CONCURRENT_GITHUB_CALLS)
+        }
+        f.entry(title: _("Max idle connections to each GitHub host"), field: "httpMaxIdleConnections") {
+            f.number(clazz: "positive-number", min: 1, default: GitHubPluginConfig.DEFAULT_HTTP_MAX_IDLE_CONNECTIONS)
+        }
+        f.entry(title: _("Keep idle connections open (minutes)"), field: "httpKeepAliveMinutes") {
+            f.number(clazz: "positive-number", min: 1, default: GitHubPluginConfig.DEFAULT_HTTP_KEEP_ALIVE_MINUTES)
+        }
+        f.entry(title: _("Max concurrent requests to each GitHub host"), field: "httpMaxRequestsPerHost") {
+            f.number(clazz: "positive-number", min: 1, default: GitHubPluginConfig.DEFAULT_HTTP_MAX_REQUESTS_PER_HOST)
+        }
+        f.entry(title: _("Warm up GitHub clients on start"), field: "warmUpClients") {
+            f.checkbox()
+        }
+
         f.entry(title: _("Additional actions"), help: descriptor.getHelpFile('additional')) {
             f.hetero_list(items: [],
                     addCaption: _("Manage additional GitHub actions"),
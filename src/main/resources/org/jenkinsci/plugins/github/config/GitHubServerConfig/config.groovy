@@ -30,8 +30,19 @@ f.entry() {
     f.checkbox(title: _("Manage hooks"), field: "manageHooks")
 }
 
+f.entry(title: _("Organizations with organization webhook"), field: "hookOrganizations") {
+    f.textbox()
+}
+
+f.entry(title: _("Repository owners"), field: "repositoryOwners") {
+    f.textbox()
+}
+
 f.advanced() {
     f.entry(title: _("GitHub client cache size (MB)"), field: "clientCacheSize") {
         f.textbox(default: GitHubServerConfig.DEFAULT_CLIENT_CACHE_SIZE_MB)
     }
+    f.entry(field: "preferHttp2") {
+        f.checkbox(title: _("Use cleartext HTTP/2 for http API URL"))
+    }
 }
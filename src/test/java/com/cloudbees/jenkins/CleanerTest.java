@@ -0,0 +1,85 @@
+package com.cloudbees.jenkins;
+
+import hudson.model.FreeStyleProject;
+import hudson.model.Item;
+import hudson.plugins.git.GitSCM;
+import org.jenkinsci.plugins.github.extension.GHEventsSubscriber;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+import org.jvnet.hudson.test.TestExtension;
+import org.jvnet.hudson.test.junit.jupiter.WithJenkins;
+import org.kohsuke.github.GHEvent;
+
+import java.util.Collections;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+@WithJenkins
+class CleanerTest {
+    private static final GitHubRepositoryName REPO = new GitHubRepositoryName("github.com", "user", "repo");
+
+    private JenkinsRule jRule;
+
+    @BeforeEach
+    void setUp(JenkinsRule rule) {
+        jRule = rule;
+    }
+
+    @Test
+    void shouldKeepReposOfJobsWithTrigger() throws Exception {
+        FreeStyleProject first = jRule.createFreeStyleProject();
+        first.setScm(new GitSCM("https://github.com/user/repo.git"));
+        first.addTrigger(new GitHubPushTrigger());
+        FreeStyleProject second = jRule.createFreeStyleProject();
+        second.setScm(new GitSCM("https://github.com/user/repo.git"));
+        second.addTrigger(new GitHubPushTrigger());
+
+        Cleaner cleaner = Cleaner.get();
+        assertThat("with triggers", cleaner.isAlive(REPO), is(true));
+
+        first.removeTrigger(first.getTrigger(GitHubPushTrigger.class).getDescriptor());
+        assertThat("used by another job", cleaner.isAlive(REPO), is(true));
+
+        second.delete();
+        assertThat("no jobs left", cleaner.isAlive(REPO), is(false));
+    }
+
+    @Test
+    void shouldQueueRepoOnceTillNextRun() throws Exception {
+        FreeStyleProject first = jRule.createFreeStyleProject();
+        first.setScm(new GitSCM("https://github.com/user/repo.git"));
+        FreeStyleProject second = jRule.createFreeStyleProject();
+        second.setScm(new GitSCM("https://github.com/user/repo.git"));
+
+        Cleaner cleaner = Cleaner.get();
+        cleaner.onStop(first);
+        cleaner.onStop(second);
+
+        assertThat("deduplicated", cleaner.getQueueSize(), is(1));
+    }
+
+    @Test
+    void shouldKeepReposNeededByOtherSubscribers() throws Exception {
+        FreeStyleProject job = jRule.createFreeStyleProject();
+        job.setScm(new GitSCM("https://github.com/user/repo.git"));
+
+        assertThat("pull requests subscriber", Cleaner.get().isAlive(REPO), is(true));
+    }
+
+    @TestExtension("shouldKeepReposNeededByOtherSubscribers")
+    @SuppressWarnings("unused")
+    public static class PullRequestSubscriber extends GHEventsSubscriber {
+        @Override
+        protected boolean isApplicable(Item project) {
+            return true;
+        }
+
+        @Override
+        protected Set<GHEvent> events() {
+            return Collections.singleton(GHEvent.PULL_REQUEST);
+        }
+    }
+}
@@ -18,6 +18,7 @@ import org.jvnet.hudson.test.Issue;
 import org.jvnet.hudson.test.JenkinsRule;
 import org.jvnet.hudson.test.junit.jupiter.WithJenkins;
 
+import java.io.File;
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.concurrent.TimeUnit;
@@ -78,6 +79,35 @@ class GitHubPushTriggerTest {
         assertThat("should be 2 build after hook", job.getLastBuild().getNumber(), is(2));
     }
 
+    @Test
+    void shouldKeepDebounceSettingsOnConfigRoundtrip() throws Exception {
+        FreeStyleProject job = jRule.createFreeStyleProject();
+        GitHubPushTrigger trigger = new GitHubPushTrigger();
+        trigger.setDebounceSeconds(30);
+        trigger.setDebounceMaxWaitSeconds(120);
+        job.addTrigger(trigger);
+
+        jRule.configRoundtrip(job);
+
+        GitHubPushTrigger saved = job.getTrigger(GitHubPushTrigger.class);
+        assertThat("debounce", saved.getDebounceSeconds(), is(30));
+        assertThat("max wait", saved.getDebounceMaxWaitSeconds(), is(120));
+    }
+
+    @Test
+    void shouldNotPollDebouncedEventsAfterTriggerIsStopped() throws Exception {
+        FreeStyleProject job = jRule.createFreeStyleProject();
+        GitHubPushTrigger trigger = new GitHubPushTrigger();
+        trigger.setDebounceSeconds(1);
+        job.addTrigger(trigger);
+
+        trigger.onPost("user");
+        trigger.stop();
+        TimeUnit.SECONDS.sleep(2);
+
+        assertThat("not polled", new File(job.getRootDir(), "github-polling.log").exists(), is(false));
+    }
+
     @Test
     @Issue("JENKINS-24690")
     void shouldReturnWaringOnHookProblem() throws Exception {
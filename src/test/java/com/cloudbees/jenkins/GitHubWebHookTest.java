@@ -2,7 +2,9 @@ package com.cloudbees.jenkins;
 
 import com.google.inject.Inject;
 import hudson.model.Item;
+import org.jenkinsci.plugins.github.GitHubPlugin;
 import org.jenkinsci.plugins.github.extension.GHEventsSubscriber;
+import org.jenkinsci.plugins.github.webhook.WebhookEventQueue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -12,11 +14,13 @@ import org.jvnet.hudson.test.junit.jupiter.WithJenkins;
 import org.kohsuke.github.GHEvent;
 import org.kohsuke.stapler.Stapler;
 import org.kohsuke.stapler.StaplerRequest2;
+import org.kohsuke.stapler.StaplerResponse2;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
 
 import static com.google.common.collect.Sets.immutableEnumSet;
 import static java.util.Arrays.asList;
@@ -24,6 +28,8 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.everyItem;
 import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 /**
  * @author lanwen (Merkushev Kirill)
@@ -48,6 +54,9 @@ class GitHubWebHookTest {
     @Mock
     private StaplerRequest2 req2;
 
+    @Mock
+    private StaplerResponse2 rsp2;
+
     @BeforeEach
     void setUp(JenkinsRule rule) throws Exception {
         jenkins = rule;
@@ -85,6 +94,44 @@ class GitHubWebHookTest {
         }
     }
 
+    @Test
+    void shouldProcessEventInBackgroundInAsyncMode() throws Exception {
+        GitHubPlugin.configuration().setAsyncWebhookProcessing(true);
+        try (var mockedStapler = Mockito.mockStatic(Stapler.class)) {
+            mockedStapler.when(Stapler::getCurrentRequest2).thenReturn(req2);
+            mockedStapler.when(Stapler::getCurrentResponse2).thenReturn(rsp2);
+            new GitHubWebHook().doIndex(GHEvent.ISSUES, PAYLOAD);
+        }
+        verify(rsp2).setStatus(202);
+        for (int i = 0; i < 100 && subscriber.lastEvent() == null; i++) {
+            Thread.sleep(100);
+        }
+        assertThat("should get interested event", subscriber.lastEvent(), equalTo(GHEvent.ISSUES));
+        assertThat("event accepted", WebhookEventQueue.get().getAcceptedCount(), equalTo(1L));
+    }
+
+    @Test
+    void shouldAskToRetryWhenQueueIsFull() throws Exception {
+        GitHubPlugin.configuration().setAsyncWebhookProcessing(true);
+        GitHubPlugin.configuration().setWebhookWorkerThreads(1);
+        GitHubPlugin.configuration().setWebhookQueueCapacity(1);
+        try (var mockedStapler = Mockito.mockStatic(Stapler.class)) {
+            mockedStapler.when(Stapler::getCurrentRequest2).thenReturn(req2);
+            mockedStapler.when(Stapler::getCurrentResponse2).thenReturn(rsp2);
+            GitHubWebHook hook = new GitHubWebHook();
+            hook.doIndex(GHEvent.FORK, PAYLOAD);
+            hook.doIndex(GHEvent.FORK, PAYLOAD);
+            hook.doIndex(GHEvent.FORK, PAYLOAD);
+        } finally {
+            BlockingForkSubscriber.RELEASE.countDown();
+        }
+
+        verify(rsp2, times(2)).setStatus(202);
+        verify(rsp2).setHeader("Retry-After", "10");
+        verify(rsp2).setStatus(503);
+        assertThat("event rejected", WebhookEventQueue.get().getRejectedCount(), equalTo(1L));
+    }
+
     @TestExtension
     @SuppressWarnings("unused")
     public static class IssueSubscriber extends TestSubscriber {
@@ -118,10 +165,33 @@ class GitHubWebHookTest {
         }
     }
 
+    /**
+     * Keeps the only worker busy, so the next event stays in queue
+     */
+    @TestExtension("shouldAskToRetryWhenQueueIsFull")
+    @SuppressWarnings("unused")
+    public static class BlockingForkSubscriber extends TestSubscriber {
+        private static final CountDownLatch RELEASE = new CountDownLatch(1);
+
+        public BlockingForkSubscriber() {
+            super(GHEvent.FORK);
+        }
+
+        @Override
+        protected void onEvent(GHEvent event, String payload) {
+            super.onEvent(event, payload);
+            try {
+                RELEASE.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
     public static class TestSubscriber extends GHEventsSubscriber {
 
         private final GHEvent interested;
-        private GHEvent event;
+        private volatile GHEvent event;
 
         public TestSubscriber(GHEvent interested) {
             this.interested = interested;
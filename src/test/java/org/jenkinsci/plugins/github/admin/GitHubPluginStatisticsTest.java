@@ -0,0 +1,46 @@
+package org.jenkinsci.plugins.github.admin;
+
+import jenkins.model.Jenkins;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+import org.jvnet.hudson.test.MockAuthorizationStrategy;
+import org.jvnet.hudson.test.junit.jupiter.WithJenkins;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+
+@WithJenkins
+class GitHubPluginStatisticsTest {
+
+    private static final String URL = "github-plugin-statistics";
+
+    private JenkinsRule j;
+
+    @BeforeEach
+    void setUp(JenkinsRule rule) {
+        j = rule;
+        j.jenkins.setSecurityRealm(j.createDummySecurityRealm());
+        j.jenkins.setAuthorizationStrategy(new MockAuthorizationStrategy()
+                .grant(Jenkins.ADMINISTER).everywhere().to("admin")
+                .grant(Jenkins.READ).everywhere().to("user"));
+    }
+
+    @Test
+    void shouldShowStatisticsToAdmin() throws Exception {
+        String page = j.createWebClient().login("admin").goTo(URL).getWebResponse().getContentAsString();
+
+        assertThat(page, containsString("Repository names of jobs"));
+        assertThat(page, containsString("Asynchronous webhook events"));
+        assertThat(page, containsString("Webhook signatures"));
+        assertThat(page, containsString("Polling triggered by pushes"));
+        assertThat(page, containsString("Cleanup of unused hooks"));
+        assertThat(page, containsString("HTTP connection pools"));
+        assertThat(page, containsString("GitHub API quota"));
+    }
+
+    @Test
+    void shouldNotShowStatisticsToUser() throws Exception {
+        j.createWebClient().login("user").assertFails(URL, 403);
+    }
+}
@@ -116,6 +116,29 @@ class GitHubPluginConfigTest {
         assertHookSecrets("#1; #2");
     }
 
+    @Test
+    void shouldKeepPollingSettingsOnConfigRoundtrip() throws Exception {
+        GitHubPluginConfig config = GitHubPlugin.configuration();
+        config.setPollingThreads(3);
+        config.setPollingQueueCapacity(50);
+        config.setPollingRejectionPolicy(PollingRejectionPolicy.CALLER_RUNS);
+
+        j.configRoundtrip();
+
+        assertThat("threads", config.getPollingThreads(), is(3));
+        assertThat("capacity", config.getPollingQueueCapacity(), is(50));
+        assertThat("policy", config.getPollingRejectionPolicy(), is(PollingRejectionPolicy.CALLER_RUNS));
+    }
+
+    @Test
+    void shouldNotBoundPollingQueueByDefault() throws Exception {
+        j.configRoundtrip();
+
+        assertThat("unbounded", GitHubPlugin.configuration().getPollingQueueCapacity(), is(0));
+        assertThat("policy for bounded queue", GitHubPlugin.configuration().getPollingRejectionPolicy(),
+                is(PollingRejectionPolicy.DISCARD));
+    }
+
     private void assertHookSecrets(String expected) {
         assertEquals(expected, GitHubPlugin.configuration().getHookSecretConfigs().stream().map(HookSecretConfig::getHookSecret).filter(Objects::nonNull).map(Secret::getPlainText).collect(Collectors.joining("; ")));
     }
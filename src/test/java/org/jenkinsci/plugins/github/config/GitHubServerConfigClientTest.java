@@ -0,0 +1,86 @@
+package org.jenkinsci.plugins.github.config;
+
+import com.cloudbees.plugins.credentials.CredentialsScope;
+import com.cloudbees.plugins.credentials.SystemCredentialsProvider;
+import com.cloudbees.plugins.credentials.domains.Domain;
+import hudson.security.ACL;
+import hudson.security.ACLContext;
+import hudson.util.Secret;
+import org.jenkinsci.plugins.github.GitHubPlugin;
+import org.jenkinsci.plugins.plaincredentials.impl.StringCredentialsImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+import org.jvnet.hudson.test.junit.jupiter.WithJenkins;
+import org.kohsuke.github.GitHub;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.jenkinsci.plugins.github.config.GitHubServerConfig.loginToGithub;
+
+@WithJenkins
+class GitHubServerConfigClientTest {
+    private static final String CREDENTIALS_ID = "github-token";
+
+    private GitHubServerConfig config;
+
+    @BeforeEach
+    void setUp(JenkinsRule rule) throws Exception {
+        SystemCredentialsProvider.getInstance().getCredentials().add(new StringCredentialsImpl(
+                CredentialsScope.GLOBAL, CREDENTIALS_ID, null, Secret.fromString("first")));
+        SystemCredentialsProvider.getInstance().save();
+
+        config = new GitHubServerConfig(CREDENTIALS_ID);
+        config.setApiUrl("http://localhost:1");
+        GitHubPlugin.configuration().setConfigs(Collections.singletonList(config));
+    }
+
+    @Test
+    void shouldLoginOnceForConcurrentCalls() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<GitHub>> logins = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                logins.add(() -> loginToGithub().apply(config));
+            }
+            Set<GitHub> clients = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (Future<GitHub> client : executor.invokeAll(logins)) {
+                clients.add(client.get());
+            }
+            assertThat("one client for all callers", clients, hasSize(1));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldRecreateClientAfterTokenRotation() throws Exception {
+        GitHub first = loginToGithub().apply(config);
+        assertThat("client", first, notNullValue());
+        assertThat("cached", loginToGithub().apply(config), sameInstance(first));
+
+        SystemCredentialsProvider.StoreImpl store = new SystemCredentialsProvider.StoreImpl();
+        try (ACLContext ignored = ACL.as2(ACL.SYSTEM2)) {
+            store.updateCredentials(Domain.global(), store.getCredentials(Domain.global()).get(0),
+                    new StringCredentialsImpl(CredentialsScope.GLOBAL, CREDENTIALS_ID, null,
+                            Secret.fromString("rotated")));
+        }
+
+        GitHub rotated = loginToGithub().apply(config);
+        assertThat("new client", rotated, not(sameInstance(first)));
+        assertThat("cached again", loginToGithub().apply(config), sameInstance(rotated));
+    }
+}
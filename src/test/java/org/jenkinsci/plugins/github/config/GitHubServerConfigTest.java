@@ -10,6 +10,7 @@ import static org.hamcrest.Matchers.nullValue;
 import static org.jenkinsci.plugins.github.config.GitHubServerConfig.GITHUB_URL;
 import static org.jenkinsci.plugins.github.config.GitHubServerConfig.allowedToManageHooks;
 import static org.jenkinsci.plugins.github.config.GitHubServerConfig.isUrlCustom;
+import static org.jenkinsci.plugins.github.config.GitHubServerConfig.withHookOrganization;
 import static org.jenkinsci.plugins.github.config.GitHubServerConfig.withHost;
 
 /**
@@ -32,6 +33,22 @@ public class GitHubServerConfigTest {
         assertThat(allowedToManageHooks().apply(input), is(false));
     }
 
+    @Test
+    void shouldMatchConfiguredHookOrganization() throws Exception {
+        GitHubServerConfig input = new GitHubServerConfig("");
+        input.setHookOrganizations("jenkinsci, Acme  other");
+        assertThat(withHookOrganization("acme").apply(input), is(true));
+        assertThat(withHookOrganization("jenkins").apply(input), is(false));
+    }
+
+    @Test
+    void shouldNotMatchHookOrganizationIfHooksAreNotManaged() throws Exception {
+        GitHubServerConfig input = new GitHubServerConfig("");
+        input.setHookOrganizations("acme");
+        input.setManageHooks(false);
+        assertThat(withHookOrganization("acme").apply(input), is(false));
+    }
+
     @Test
     void shouldMatchNonEqualToGHUrl() throws Exception {
           assertThat(isUrlCustom(CUSTOM_GH_SERVER), is(true));
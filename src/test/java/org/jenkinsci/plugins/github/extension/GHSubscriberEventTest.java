@@ -0,0 +1,32 @@
+package org.jenkinsci.plugins.github.extension;
+
+import org.junit.jupiter.api.Test;
+import org.kohsuke.github.GHEvent;
+import org.kohsuke.github.GHEventPayload;
+
+import static com.cloudbees.jenkins.GitHubWebHookFullTest.classpath;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+
+class GHSubscriberEventTest {
+    private static final String PAYLOAD = classpath("payloads/push.json");
+
+    @Test
+    void shouldParsePayloadOnce() throws Exception {
+        GHSubscriberEvent event = new GHSubscriberEvent("guid", "origin", GHEvent.PUSH, PAYLOAD);
+
+        GHEventPayload.Push push = event.parsePayload(GHEventPayload.Push.class);
+
+        assertThat("pusher", push.getPusher().getName(), equalTo("lanwen"));
+        assertThat("second parse", event.parsePayload(GHEventPayload.Push.class), sameInstance(push));
+    }
+
+    @Test
+    void shouldParseJsonOnce() throws Exception {
+        GHSubscriberEvent event = new GHSubscriberEvent("guid", "origin", GHEvent.PUSH, PAYLOAD);
+
+        assertThat("json", event.getPayloadJson().getJSONObject("pusher").getString("name"), equalTo("lanwen"));
+        assertThat("second parse", event.getPayloadJson(), sameInstance(event.getPayloadJson()));
+    }
+}
@@ -0,0 +1,82 @@
+package org.jenkinsci.plugins.github.internal;
+
+import com.cloudbees.jenkins.GitHubRepositoryName;
+import hudson.model.FreeStyleProject;
+import hudson.plugins.git.GitSCM;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+import org.jvnet.hudson.test.junit.jupiter.WithJenkins;
+
+import java.util.Collections;
+
+import static com.cloudbees.jenkins.GitHubRepositoryNameContributor.parseAssociatedNames;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.greaterThan;
+
+@WithJenkins
+class AssociatedNamesCacheTest {
+    private static final GitHubRepositoryName REPO = new GitHubRepositoryName("host", "user", "repo");
+    private static final GitHubRepositoryName OTHER_REPO = new GitHubRepositoryName("host", "user", "other");
+
+    private JenkinsRule jRule;
+
+    @BeforeEach
+    void setUp(JenkinsRule rule) {
+        jRule = rule;
+    }
+
+    @Test
+    void shouldServeRepeatedLookupsFromCache() throws Exception {
+        FreeStyleProject job = jRule.createFreeStyleProject();
+        job.setScm(new GitSCM("git://host/user/repo.git"));
+
+        assertThat(parseAssociatedNames(job), contains(REPO));
+        long hits = AssociatedNamesCache.hitCount();
+
+        assertThat(parseAssociatedNames(job), contains(REPO));
+        assertThat("second lookup is a hit", AssociatedNamesCache.hitCount(), greaterThan(hits));
+    }
+
+    @Test
+    void shouldRecomputeAfterSave() throws Exception {
+        FreeStyleProject job = jRule.createFreeStyleProject();
+        job.setScm(new GitSCM("git://host/user/repo.git"));
+
+        assertThat(parseAssociatedNames(job), contains(REPO));
+
+        job.setScm(new GitSCM("git://host/user/other.git"));
+
+        assertThat("names after scm change", parseAssociatedNames(job), contains(OTHER_REPO));
+    }
+
+    @Test
+    void shouldNotCacheNamesLoadedBeforeInvalidation() throws Exception {
+        FreeStyleProject job = jRule.createFreeStyleProject();
+
+        AssociatedNamesCache.get(job, item -> {
+            AssociatedNamesCache.invalidate(item);
+            return Collections.singleton(REPO);
+        });
+
+        assertThat("names after invalidation during load",
+                AssociatedNamesCache.get(job, item -> Collections.singleton(OTHER_REPO)), contains(OTHER_REPO));
+    }
+
+    @Test
+    void shouldKeepLoadsOfOtherItemsOnInvalidation() throws Exception {
+        FreeStyleProject job = jRule.createFreeStyleProject();
+        FreeStyleProject other = jRule.createFreeStyleProject();
+
+        AssociatedNamesCache.get(job, item -> {
+            AssociatedNamesCache.invalidate(other);
+            return Collections.singleton(REPO);
+        });
+
+        assertThat("names of job are cached",
+                AssociatedNamesCache.get(job, item -> Collections.emptySet()), contains(REPO));
+        assertThat(AssociatedNamesCache.get(other, item -> Collections.emptySet()), empty());
+    }
+}
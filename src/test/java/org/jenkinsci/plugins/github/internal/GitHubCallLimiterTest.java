@@ -0,0 +1,53 @@
+package org.jenkinsci.plugins.github.internal;
+
+import org.jenkinsci.plugins.github.config.GitHubPluginConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+class GitHubCallLimiterTest {
+
+    @BeforeEach
+    void setUp() {
+        GitHubCallLimiter.reconfigure(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        GitHubCallLimiter.reconfigure(GitHubPluginConfig.DEFAULT_MAX_CONCURRENT_GITHUB_CALLS);
+    }
+
+    @Test
+    void shouldWaitForPermitOfSameHost() throws Exception {
+        CountDownLatch acquired = new CountDownLatch(1);
+        Thread waiting;
+        try (GitHubCallLimiter.Permit permit = GitHubCallLimiter.acquire("github.com")) {
+            waiting = new Thread(() -> {
+                try (GitHubCallLimiter.Permit second = GitHubCallLimiter.acquire("GitHub.com")) {
+                    acquired.countDown();
+                }
+            });
+            waiting.start();
+
+            assertThat("second call waits", acquired.await(200, TimeUnit.MILLISECONDS), is(false));
+            assertThat("waiting count", GitHubCallLimiter.getWaitingCount("github.com"), is(1));
+        }
+
+        assertThat("second call proceeds", acquired.await(5, TimeUnit.SECONDS), is(true));
+        waiting.join();
+    }
+
+    @Test
+    void shouldNotLimitOtherHosts() {
+        try (GitHubCallLimiter.Permit permit = GitHubCallLimiter.acquire("github.com");
+             GitHubCallLimiter.Permit other = GitHubCallLimiter.acquire("ghe.example.com")) {
+            assertThat("nothing waits", GitHubCallLimiter.getWaitingCount("ghe.example.com"), is(0));
+        }
+    }
+}
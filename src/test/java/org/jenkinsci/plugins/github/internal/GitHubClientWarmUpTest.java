@@ -0,0 +1,34 @@
+package org.jenkinsci.plugins.github.internal;
+
+import org.jenkinsci.plugins.github.config.GitHubServerConfig;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.kohsuke.github.GitHub;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class GitHubClientWarmUpTest {
+
+    @Mock
+    private GitHub github;
+
+    @Test
+    void shouldMakeFirstCallWithClientOfConfig() throws Exception {
+        GitHubServerConfig config = new ConfigWithClient(github);
+
+        assertThat("time", GitHubClientWarmUp.warmUp(config), greaterThanOrEqualTo(0L));
+        verify(github).getRateLimit();
+    }
+
+    private static class ConfigWithClient extends GitHubServerConfig {
+        ConfigWithClient(GitHub client) {
+            super("creds");
+            setCachedClient(client);
+        }
+    }
+}
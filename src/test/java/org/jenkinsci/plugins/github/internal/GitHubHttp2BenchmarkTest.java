@@ -0,0 +1,138 @@
+package org.jenkinsci.plugins.github.internal;
+
+import com.github.tomakehurst.wiremock.junit5.WireMockExtension;
+import okhttp3.Call;
+import okhttp3.EventListener;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import org.jenkinsci.plugins.github.config.GitHubServerConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.jvnet.hudson.test.JenkinsRule;
+import org.jvnet.hudson.test.junit.jupiter.WithJenkins;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathMatching;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static java.net.HttpURLConnection.HTTP_CREATED;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Compares connections opened by a burst of concurrent commit status updates over HTTP/1.1 and HTTP/2
+ * against a local stub of GitHub
+ */
+@WithJenkins
+class GitHubHttp2BenchmarkTest {
+    private static final Logger LOGGER = LoggerFactory.getLogger(GitHubHttp2BenchmarkTest.class);
+
+    private static final int CONCURRENT_STATUSES = 16;
+    private static final MediaType JSON = MediaType.parse("application/json; charset=utf-8");
+
+    @RegisterExtension
+    static WireMockExtension github = WireMockExtension.newInstance()
+            .options(wireMockConfig().dynamicPort())
+            .build();
+
+    @BeforeEach
+    void setUp(JenkinsRule rule) {
+        github.stubFor(post(urlPathMatching("/repos/org/repo/statuses/.*"))
+                .willReturn(aResponse()
+                        .withStatus(HTTP_CREATED)
+                        .withFixedDelay(200)
+                        .withHeader("Content-Type", "application/json; charset=utf-8")
+                        .withBody("{}")));
+    }
+
+    @Test
+    void shouldMultiplexConcurrentStatusesOverHttp2() throws Exception {
+        Burst http1 = burst(false);
+        Burst http2 = burst(true);
+
+        LOGGER.info("HTTP/1.1: {} connections, {} ms; HTTP/2: {} connections, {} ms",
+                http1.connections, http1.millis, http2.connections, http2.millis);
+
+        assertThat("protocol", http2.protocol, is(Protocol.H2_PRIOR_KNOWLEDGE));
+        assertThat("HTTP/1.1 opens connection per concurrent call", http1.connections, greaterThan(1));
+        assertThat("HTTP/2 reuses connection", http2.connections, is(0));
+    }
+
+    private static Burst burst(boolean preferHttp2) throws Exception {
+        GitHubServerConfig config = new GitHubServerConfig("creds");
+        config.setApiUrl("http://localhost:" + github.getPort());
+        config.setPreferHttp2(preferHttp2);
+
+        AtomicInteger connections = new AtomicInteger();
+        OkHttpClient client = GitHubLoginFunction.httpClientFor(config).newBuilder()
+                .proxy(Proxy.NO_PROXY)
+                .eventListener(new EventListener() {
+                    @Override
+                    public void connectStart(Call call, InetSocketAddress address, Proxy proxy) {
+                        connections.incrementAndGet();
+                    }
+                })
+                .build();
+
+        Protocol protocol = status(client, "warmup");
+        connections.set(0);
+
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_STATUSES);
+        try {
+            List<Callable<Protocol>> statuses = new ArrayList<>();
+            for (int i = 0; i < CONCURRENT_STATUSES; i++) {
+                String sha = "sha" + i;
+                statuses.add(() -> status(client, sha));
+            }
+            long start = System.nanoTime();
+            for (Future<Protocol> status : executor.invokeAll(statuses)) {
+                status.get();
+            }
+            return new Burst(protocol, connections.get(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Protocol status(OkHttpClient client, String sha) throws Exception {
+        Request request = new Request.Builder()
+                .url("http://localhost:" + github.getPort() + "/repos/org/repo/statuses/" + sha)
+                .post(RequestBody.create("{\"state\":\"success\"}", JSON))
+                .build();
+        try (Response response = client.newCall(request).execute()) {
+            assertThat("status code", response.code(), is(HTTP_CREATED));
+            return response.protocol();
+        }
+    }
+
+    private static final class Burst {
+        private final Protocol protocol;
+        private final int connections;
+        private final long millis;
+
+        private Burst(Protocol protocol, int connections, long millis) {
+            this.protocol = protocol;
+            this.connections = connections;
+            this.millis = millis;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package org.jenkinsci.plugins.github.internal;
+
+import okhttp3.OkHttpClient;
+import org.jenkinsci.plugins.github.config.GitHubPluginConfig;
+import org.jenkinsci.plugins.github.config.GitHubServerConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kohsuke.github.GitHub;
+
+import java.util.Collections;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.Mockito.mock;
+
+class GitHubHttpPoolsTest {
+
+    private GitHubPluginConfig config;
+
+    @BeforeEach
+    void setUp() {
+        config = new GitHubPluginConfig(Collections.emptyList());
+        GitHubHttpPools.reconfigure(config);
+    }
+
+    @AfterEach
+    void tearDown() {
+        GitHubHttpPools.reconfigure(new GitHubPluginConfig(Collections.emptyList()));
+    }
+
+    @Test
+    void shouldShareConnectionPoolOfSameHost() {
+        OkHttpClient first = GitHubHttpPools.share(new OkHttpClient.Builder(), "https://api.github.com").build();
+        OkHttpClient second = GitHubHttpPools.share(new OkHttpClient.Builder(), "https://API.github.com/").build();
+
+        assertThat("pool", second.connectionPool(), sameInstance(first.connectionPool()));
+        assertThat("dispatcher", second.dispatcher(), sameInstance(first.dispatcher()));
+    }
+
+    @Test
+    void shouldNotShareConnectionPoolOfOtherHosts() {
+        OkHttpClient github = GitHubHttpPools.share(new OkHttpClient.Builder(), "https://api.github.com").build();
+        OkHttpClient ghe = GitHubHttpPools.share(new OkHttpClient.Builder(), "https://ghe.example.com/api/v3").build();
+
+        assertThat("pool", ghe.connectionPool(), not(sameInstance(github.connectionPool())));
+    }
+
+    @Test
+    void shouldReplacePoolsOnSettingsChange() {
+        OkHttpClient before = GitHubHttpPools.share(new OkHttpClient.Builder(), "https://api.github.com").build();
+        GitHubHttpPools.reconfigure(config);
+        OkHttpClient same = GitHubHttpPools.share(new OkHttpClient.Builder(), "https://api.github.com").build();
+
+        config.setHttpMaxIdleConnections(config.getHttpMaxIdleConnections() + 1);
+        GitHubHttpPools.reconfigure(config);
+        OkHttpClient after = GitHubHttpPools.share(new OkHttpClient.Builder(), "https://api.github.com").build();
+
+        assertThat("unchanged settings", same.connectionPool(), sameInstance(before.connectionPool()));
+        assertThat("changed settings", after.connectionPool(), not(sameInstance(before.connectionPool())));
+    }
+
+    @Test
+    void shouldDropCachedClientsOnSettingsChange() {
+        ConfigWithClient server = new ConfigWithClient(mock(GitHub.class));
+        config.setConfigs(Collections.singletonList(server));
+
+        GitHubHttpPools.reconfigure(config);
+        assertThat("unchanged settings", server.client(), notNullValue());
+
+        config.setHttpMaxRequestsPerHost(config.getHttpMaxRequestsPerHost() + 1);
+        GitHubHttpPools.reconfigure(config);
+        assertThat("changed settings", server.client(), nullValue());
+    }
+
+    private static class ConfigWithClient extends GitHubServerConfig {
+        ConfigWithClient(GitHub client) {
+            super("creds");
+            setCachedClient(client);
+        }
+
+        GitHub client() {
+            return getCachedClient();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package org.jenkinsci.plugins.github.internal;
+
+import okhttp3.Interceptor;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.jenkinsci.plugins.github.internal.GitHubRateLimiter.Priority.HIGH;
+import static org.jenkinsci.plugins.github.internal.GitHubRateLimiter.Priority.LOW;
+import static org.jenkinsci.plugins.github.internal.GitHubRateLimiter.Priority.NORMAL;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class GitHubRateLimiterTest {
+
+    private static final long NOW = TimeUnit.SECONDS.toMillis(1_700_000_000L);
+    private static final String RESET_IN_HOUR = String.valueOf(TimeUnit.MILLISECONDS.toSeconds(NOW) + 3600);
+
+    private static final String CORE = GitHubRateLimiter.CORE_RESOURCE;
+
+    private final GitHubRateLimiter limiter = new GitHubRateLimiter("test");
+
+    @Test
+    void shouldNotDelayWithUnknownQuota() {
+        assertThat("wait", limiter.reserve(LOW, CORE, NOW), is(0L));
+    }
+
+    @Test
+    void shouldNotDelayWhileMostOfQuotaRemains() {
+        limiter.update(CORE, "5000", "4000", RESET_IN_HOUR);
+
+        assertThat("wait", limiter.reserve(NORMAL, CORE, NOW), is(0L));
+        assertThat("remaining is counted", limiter.getRemaining(), is(3999));
+    }
+
+    @Test
+    void shouldSpreadRequestsWhenQuotaIsLow() {
+        limiter.update(CORE, "5000", "1250", RESET_IN_HOUR);
+
+        assertThat("first is not delayed", limiter.reserve(NORMAL, CORE, NOW), is(0L));
+        assertThat("next waits for its slot", limiter.reserve(NORMAL, CORE, NOW), greaterThan(0L));
+        assertThat("throttled", limiter.getThrottledCount(), is(1L));
+    }
+
+    @Test
+    void shouldKeepReserveForCommitStatuses() {
+        limiter.update(CORE, "5000", "900", RESET_IN_HOUR);
+
+        assertThat("hooks wait", limiter.reserve(LOW, CORE, NOW), is(TimeUnit.SECONDS.toMillis(
+                GitHubRateLimiter.MAX_WAIT_SECONDS)));
+        assertThat("statuses go", limiter.reserve(HIGH, CORE, NOW + 3_600_000L - 1), is(0L));
+    }
+
+    @Test
+    void shouldKeepQuotaOfEachResource() {
+        limiter.update(CORE, "5000", "4000", RESET_IN_HOUR);
+        limiter.update("search", "30", "0", RESET_IN_HOUR);
+
+        assertThat("core is not delayed by search", limiter.reserve(NORMAL, CORE, NOW), is(0L));
+        assertThat("core quota", limiter.getRemaining(), is(3999));
+        assertThat("search waits", limiter.reserve(NORMAL, "search", NOW), greaterThan(0L));
+    }
+
+    @Test
+    void shouldDelayRequestsShorterThanHookManagement() {
+        limiter.update(CORE, "5000", "0", RESET_IN_HOUR);
+
+        assertThat("statuses", limiter.reserve(HIGH, CORE, NOW),
+                is(TimeUnit.SECONDS.toMillis(GitHubRateLimiter.REQUEST_MAX_WAIT_SECONDS)));
+        assertThat("hooks", limiter.reserve(LOW, CORE, NOW),
+                is(TimeUnit.SECONDS.toMillis(GitHubRateLimiter.MAX_WAIT_SECONDS)));
+    }
+
+    @Test
+    void shouldDetectResourceByPath() {
+        assertThat(GitHubRateLimiter.resourceOf(request("/search/issues")), is("search"));
+        assertThat(GitHubRateLimiter.resourceOf(request("/graphql")), is("graphql"));
+        assertThat(GitHubRateLimiter.resourceOf(request("/repos/o/r")), is(CORE));
+    }
+
+    @Test
+    void shouldDetectPriorityByPath() {
+        assertThat(GitHubRateLimiter.Priority.of(request("/repos/o/r/statuses/abc")), is(HIGH));
+        assertThat(GitHubRateLimiter.Priority.of(request("/repos/o/r/hooks/1")), is(LOW));
+        assertThat(GitHubRateLimiter.Priority.of(request("/repos/o/r")), is(NORMAL));
+    }
+
+    @Test
+    void shouldRecordQuotaOnlyFromNetworkResponses() throws Exception {
+        Request request = request("/repos/o/r");
+        Interceptor.Chain chain = mock(Interceptor.Chain.class);
+        when(chain.request()).thenReturn(request);
+        when(chain.proceed(request)).thenReturn(new Response.Builder()
+                .request(request).protocol(Protocol.HTTP_1_1).code(200).message("OK")
+                .header(GitHubRateLimiter.LIMIT_HEADER, "5000")
+                .header(GitHubRateLimiter.REMAINING_HEADER, "4000")
+                .header(GitHubRateLimiter.RESET_HEADER, RESET_IN_HOUR)
+                .build());
+
+        limiter.throttle().intercept(chain);
+        assertThat("not recorded by throttle", limiter.getRemaining(), is(-1));
+
+        limiter.recorder().intercept(chain);
+        assertThat("recorded", limiter.getRemaining(), is(4000));
+    }
+
+    private static Request request(String path) {
+        return new Request.Builder().url("https://api.github.com" + path).build();
+    }
+}
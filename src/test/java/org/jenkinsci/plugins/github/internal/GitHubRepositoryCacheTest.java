@@ -0,0 +1,160 @@
+package org.jenkinsci.plugins.github.internal;
+
+import com.cloudbees.jenkins.GitHubRepositoryName;
+import org.jenkinsci.plugins.github.config.GitHubServerConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.kohsuke.github.GHFileNotFoundException;
+import org.kohsuke.github.GHRepository;
+import org.kohsuke.github.GitHub;
+import org.kohsuke.github.HttpException;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class GitHubRepositoryCacheTest {
+
+    private static final GitHubRepositoryName REPO = new GitHubRepositoryName("github.com", "org", "repo");
+
+    @Mock
+    private GitHub github;
+
+    @Mock
+    private GHRepository repository;
+
+    private GitHubServerConfig config;
+
+    @BeforeEach
+    void setUp() {
+        config = new ConfigWithClient(github);
+    }
+
+    @Test
+    void shouldFetchRepositoryOnce() throws Exception {
+        when(github.getRepository("org/repo")).thenReturn(repository);
+
+        assertThat("first", GitHubRepositoryCache.get(config, REPO), sameInstance(repository));
+        assertThat("second", GitHubRepositoryCache.get(config, REPO), sameInstance(repository));
+
+        verify(github, times(1)).getRepository("org/repo");
+    }
+
+    @Test
+    void shouldNotAskAgainConfigWhichDidNotFindRepository() throws Exception {
+        when(github.getRepository("org/repo")).thenThrow(new GHFileNotFoundException("Not Found"));
+
+        assertThat("first", GitHubRepositoryCache.get(config, REPO), nullValue());
+        assertThat("second", GitHubRepositoryCache.get(config, REPO), nullValue());
+
+        verify(github, times(1)).getRepository("org/repo");
+    }
+
+    @Test
+    void shouldAskAgainConfigWhichWasRateLimited() throws Exception {
+        when(github.getRepository("org/repo")).thenThrow(new HttpException(
+                "{\"message\":\"API rate limit exceeded for user ID 1.\"}", 403, "Forbidden",
+                "https://api.github.com/repos/org/repo"));
+
+        assertThat("first", GitHubRepositoryCache.get(config, REPO), nullValue());
+        assertThat("second", GitHubRepositoryCache.get(config, REPO), nullValue());
+
+        verify(github, times(2)).getRepository("org/repo");
+    }
+
+    @Test
+    void shouldNotTreatRateLimitedForbiddenAsAccessError() {
+        HttpException noRemaining = mock(HttpException.class);
+        when(noRemaining.getResponseCode()).thenReturn(403);
+        when(noRemaining.getResponseHeaderFields())
+                .thenReturn(singletonMap("x-ratelimit-remaining", singletonList("0")));
+
+        HttpException retryAfter = mock(HttpException.class);
+        when(retryAfter.getResponseCode()).thenReturn(403);
+        when(retryAfter.getResponseHeaderFields()).thenReturn(singletonMap("Retry-After", singletonList("60")));
+
+        assertThat("no remaining", GitHubRepositoryCache.isAccessError(noRemaining), is(false));
+        assertThat("retry after", GitHubRepositoryCache.isAccessError(retryAfter), is(false));
+        assertThat("forbidden", GitHubRepositoryCache.isAccessError(
+                new HttpException("Must have admin rights to Repository.", 403, "Forbidden", null)), is(true));
+    }
+
+    @Test
+    void shouldPreferConfigWhichSucceededLast() throws Exception {
+        GitHubServerConfig other = new ConfigWithClient(github);
+        when(github.getRepository("org/repo")).thenReturn(repository);
+
+        GitHubRepositoryCache.get(other, REPO);
+        assertThat("resolved", GitHubRepositoryCache.preferKnown(REPO, Arrays.asList(config, other)),
+                contains(other, config));
+
+        GitHubRepositoryCache.get(config, REPO);
+        GitHubRepositoryCache.succeeded(GitHubRepositoryCache.get(config, REPO));
+        assertThat("succeeded", GitHubRepositoryCache.preferKnown(REPO, Arrays.asList(other, config)),
+                contains(config, other));
+    }
+
+    @Test
+    void shouldFetchRepositoryAgainAfterInvalidation() throws Exception {
+        when(github.getRepository("org/repo")).thenReturn(repository);
+
+        GitHubRepositoryCache.get(config, REPO);
+        GitHubRepositoryCache.invalidate(repository);
+        GitHubRepositoryCache.get(config, REPO);
+
+        verify(github, times(2)).getRepository("org/repo");
+    }
+
+    @Test
+    void shouldFetchRepositoryAgainAfterConfigInvalidation() throws Exception {
+        when(github.getRepository("org/repo")).thenReturn(repository);
+
+        GitHubRepositoryCache.get(config, REPO);
+        GitHubRepositoryCache.invalidate(config);
+        assertThat("fetched again", GitHubRepositoryCache.get(config, REPO), sameInstance(repository));
+        GitHubRepositoryCache.get(config, REPO);
+
+        verify(github, times(2)).getRepository("org/repo");
+    }
+
+    @Test
+    void shouldAllowConfigInvalidationWhileLoading() throws Exception {
+        when(github.getRepository("org/repo")).thenAnswer(invocation -> {
+            GitHubRepositoryCache.invalidate(config);
+            return repository;
+        });
+
+        assertThat("loaded", GitHubRepositoryCache.get(config, REPO), sameInstance(repository));
+    }
+
+    @Test
+    void shouldNotShareRepositoryBetweenConfigs() throws Exception {
+        when(github.getRepository("org/repo")).thenReturn(repository);
+
+        GitHubRepositoryCache.get(config, REPO);
+        GitHubRepositoryCache.get(new ConfigWithClient(github), REPO);
+
+        verify(github, times(2)).getRepository("org/repo");
+    }
+
+    private static class ConfigWithClient extends GitHubServerConfig {
+        ConfigWithClient(GitHub client) {
+            super("creds");
+            setCachedClient(client);
+        }
+    }
+}
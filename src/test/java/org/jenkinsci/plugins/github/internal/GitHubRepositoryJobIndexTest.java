@@ -0,0 +1,71 @@
+package org.jenkinsci.plugins.github.internal;
+
+import com.cloudbees.jenkins.GitHubPushTrigger;
+import com.cloudbees.jenkins.GitHubRepositoryName;
+import hudson.model.FreeStyleProject;
+import hudson.plugins.git.GitSCM;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+import org.jvnet.hudson.test.junit.jupiter.WithJenkins;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+
+@WithJenkins
+class GitHubRepositoryJobIndexTest {
+    private static final GitHubRepositoryName REPO = new GitHubRepositoryName("host", "user", "repo");
+    private static final GitHubRepositoryName OTHER_REPO = new GitHubRepositoryName("host", "user", "other");
+
+    private JenkinsRule jRule;
+
+    private GitHubRepositoryJobIndex index;
+
+    @BeforeEach
+    void setUp(JenkinsRule rule) {
+        jRule = rule;
+        index = GitHubRepositoryJobIndex.get();
+    }
+
+    @Test
+    void shouldIndexOnlyJobsWithTrigger() throws Exception {
+        FreeStyleProject withTrigger = jRule.createFreeStyleProject("with");
+        withTrigger.setScm(new GitSCM("git://host/user/repo.git"));
+        withTrigger.addTrigger(new GitHubPushTrigger());
+
+        FreeStyleProject withoutTrigger = jRule.createFreeStyleProject("without");
+        withoutTrigger.setScm(new GitSCM("git://host/user/repo.git"));
+
+        assertThat("only job with trigger", index.jobsFor(REPO), contains("with"));
+    }
+
+    @Test
+    void shouldFollowScmChangeAfterIndexBuilt() throws Exception {
+        FreeStyleProject job = jRule.createFreeStyleProject("job");
+        job.setScm(new GitSCM("git://host/user/repo.git"));
+        job.addTrigger(new GitHubPushTrigger());
+
+        assertThat("initial", index.jobsFor(REPO), contains("job"));
+
+        job.setScm(new GitSCM("git://host/user/other.git"));
+
+        assertThat("old repo", index.jobsFor(REPO), empty());
+        assertThat("new repo", index.jobsFor(OTHER_REPO), contains("job"));
+    }
+
+    @Test
+    void shouldFollowRenameAndDelete() throws Exception {
+        FreeStyleProject job = jRule.createFreeStyleProject("job");
+        job.setScm(new GitSCM("git://host/user/repo.git"));
+        job.addTrigger(new GitHubPushTrigger());
+
+        assertThat("initial", index.jobsFor(REPO), contains("job"));
+
+        job.renameTo("renamed");
+        assertThat("after rename", index.jobsFor(REPO), contains("renamed"));
+
+        job.delete();
+        assertThat("after delete", index.jobsFor(REPO), empty());
+    }
+}
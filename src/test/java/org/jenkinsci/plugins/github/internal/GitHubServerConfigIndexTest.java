@@ -0,0 +1,75 @@
+package org.jenkinsci.plugins.github.internal;
+
+import org.jenkinsci.plugins.github.config.GitHubServerConfig;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+
+class GitHubServerConfigIndexTest {
+
+    @Test
+    void shouldMatchDefaultApiUrlWithRepositoryHost() {
+        GitHubServerConfig github = new GitHubServerConfig("github");
+        GitHubServerConfig ghe = config("ghe", "https://ghe.example.com/api/v3", null);
+
+        GitHubServerConfigIndex index = new GitHubServerConfigIndex(Arrays.asList(ghe, github));
+
+        assertThat(index.configsFor("github.com", "org"), contains(github));
+        assertThat(index.configsFor("GHE.example.com", "org"), contains(ghe));
+    }
+
+    @Test
+    void shouldNotMatchHostsContainingEachOther() {
+        GitHubServerConfig ghe = config("ghe", "https://ghe.example.com/api/v3", null);
+        GitHubServerConfig other = config("other", "https://ghe.example.com.eu/api/v3", null);
+
+        GitHubServerConfigIndex index = new GitHubServerConfigIndex(Arrays.asList(ghe, other));
+
+        assertThat(index.configsFor("ghe.example.com", "org"), contains(ghe));
+    }
+
+    @Test
+    void shouldPreferConfigsOfOwnerAndSkipConfigsOfOtherOwners() {
+        GitHubServerConfig any = config("any", "https://ghe.example.com/api/v3", null);
+        GitHubServerConfig first = config("first", "https://ghe.example.com/api/v3", "first, shared");
+        GitHubServerConfig second = config("second", "https://ghe.example.com/api/v3", "second shared");
+
+        GitHubServerConfigIndex index = new GitHubServerConfigIndex(Arrays.asList(any, first, second));
+
+        assertThat(index.configsFor("ghe.example.com", "Second"), contains(second, any));
+        assertThat(index.configsFor("ghe.example.com", "shared"), contains(first, second, any));
+        assertThat(index.configsFor("ghe.example.com", "unknown"), contains(any));
+        assertThat(index.configsFor("ghe.example.com", null), contains(any, first, second));
+    }
+
+    @Test
+    void shouldReturnNothingForUnknownHost() {
+        GitHubServerConfigIndex index = new GitHubServerConfigIndex(Arrays.asList(new GitHubServerConfig("github")));
+
+        assertThat(index.configsFor("ghe.example.com", "org"), is(empty()));
+    }
+
+    @Test
+    void shouldDetectChangedConfigs() {
+        List<GitHubServerConfig> configs = new ArrayList<>(Arrays.asList(new GitHubServerConfig("github")));
+        GitHubServerConfigIndex index = new GitHubServerConfigIndex(configs);
+
+        assertThat("same", index.isBuiltFor(configs), is(true));
+        configs.add(new GitHubServerConfig("other"));
+        assertThat("added", index.isBuiltFor(configs), is(false));
+    }
+
+    private static GitHubServerConfig config(String credentialsId, String apiUrl, String owners) {
+        GitHubServerConfig config = new GitHubServerConfig(credentialsId);
+        config.setApiUrl(apiUrl);
+        config.setRepositoryOwners(owners);
+        return config;
+    }
+}
@@ -0,0 +1,96 @@
+package org.jenkinsci.plugins.github.internal;
+
+import com.cloudbees.jenkins.GitHubTriggerEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+
+class PollingCoalescerTest {
+
+    private final List<Runnable> submitted = new ArrayList<>();
+    private final List<List<GitHubTriggerEvent>> polled = new ArrayList<>();
+    private final PollingCoalescer coalescer = new PollingCoalescer();
+
+    @Test
+    void shouldMergeEventsWhilePollIsWaiting() {
+        coalescer.submit("job", event("first"), record(), submitted::add);
+        coalescer.submit("job", event("second"), record(), submitted::add);
+
+        assertThat("one poll submitted", submitted, hasSize(1));
+        assertThat("coalesced", coalescer.getCoalescedCount(), is(1L));
+
+        submitted.remove(0).run();
+
+        assertThat("one poll", polled, hasSize(1));
+        assertThat("with both events", polled.get(0), contains(event("first"), event("second")));
+        assertThat("nothing pending", coalescer.getPendingCount(), is(0));
+    }
+
+    @Test
+    void shouldPollAgainForEventsReceivedWhilePolling() {
+        Consumer<List<GitHubTriggerEvent>> pushDuringPoll = events -> {
+            polled.add(events);
+            if (polled.size() == 1) {
+                coalescer.submit("job", event("during"), record(), submitted::add);
+            }
+        };
+        coalescer.submit("job", event("first"), pushDuringPoll, submitted::add);
+
+        submitted.remove(0).run();
+        assertThat("follow-up submitted", submitted, hasSize(1));
+
+        submitted.remove(0).run();
+        assertThat("follow-up with new event", polled.get(1), contains(event("during")));
+        assertThat("no more polls", submitted, hasSize(0));
+    }
+
+    @Test
+    void shouldForgetJobWhenFollowUpPollIsRejected() {
+        Executor rejectFollowUp = task -> {
+            if (!polled.isEmpty()) {
+                throw new RejectedExecutionException("full");
+            }
+            submitted.add(task);
+        };
+        Consumer<List<GitHubTriggerEvent>> pushDuringPoll = events -> {
+            polled.add(events);
+            coalescer.submit("job", event("during"), record(), rejectFollowUp);
+        };
+        coalescer.submit("job", event("first"), pushDuringPoll, rejectFollowUp);
+
+        submitted.remove(0).run();
+
+        assertThat("dropped", coalescer.getDroppedCount(), is(1L));
+        assertThat("nothing pending", coalescer.getPendingCount(), is(0));
+
+        coalescer.submit("job", event("later"), record(), submitted::add);
+        assertThat("later event submitted", submitted, hasSize(1));
+    }
+
+    @Test
+    void shouldForgetJobWhenPollIsRejected() {
+        coalescer.submit("job", event("first"), record(), task -> {
+            throw new RejectedExecutionException("full");
+        });
+
+        assertThat("dropped", coalescer.getDroppedCount(), is(1L));
+        assertThat("nothing pending", coalescer.getPendingCount(), is(0));
+    }
+
+    private Consumer<List<GitHubTriggerEvent>> record() {
+        return polled::add;
+    }
+
+    private static GitHubTriggerEvent event(String user) {
+        return GitHubTriggerEvent.create().withTimestamp(1L).withTriggeredByUser(user).build();
+    }
+}
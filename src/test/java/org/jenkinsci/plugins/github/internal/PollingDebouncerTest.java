@@ -0,0 +1,64 @@
+package org.jenkinsci.plugins.github.internal;
+
+import com.cloudbees.jenkins.GitHubTriggerEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+
+class PollingDebouncerTest {
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final BlockingQueue<List<GitHubTriggerEvent>> fired = new LinkedBlockingQueue<>();
+    private final PollingDebouncer debouncer = new PollingDebouncer(scheduler);
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    void shouldFireOnceForSeriesOfEvents() throws Exception {
+        debouncer.submit("job", event("first"), 500, 10000, fired::add);
+        debouncer.submit("job", event("second"), 500, 10000, fired::add);
+
+        List<GitHubTriggerEvent> events = fired.poll(5, TimeUnit.SECONDS);
+
+        assertThat("fired", events, notNullValue());
+        assertThat("all events of series", events, contains(event("first"), event("second")));
+        assertThat("debounced", debouncer.getDebouncedCount(), is(1L));
+        assertThat("fired once", fired.poll(1, TimeUnit.SECONDS), nullValue());
+    }
+
+    @Test
+    void shouldNotDelayMoreThanMaxWait() throws Exception {
+        debouncer.submit("job", event("first"), TimeUnit.MINUTES.toMillis(10), 200, fired::add);
+
+        assertThat("fired after max wait", fired.poll(5, TimeUnit.SECONDS), contains(event("first")));
+        assertThat("nothing waits", debouncer.getWaitingCount(), is(0));
+    }
+
+    @Test
+    void shouldNotFireCancelledSeries() throws Exception {
+        debouncer.submit("job", event("first"), 200, 10000, fired::add);
+
+        assertThat("dropped", debouncer.cancel("job"), is(1));
+        assertThat("not fired", fired.poll(1, TimeUnit.SECONDS), nullValue());
+        assertThat("nothing waits", debouncer.getWaitingCount(), is(0));
+    }
+
+    private static GitHubTriggerEvent event(String user) {
+        return GitHubTriggerEvent.create().withTimestamp(1L).withTriggeredByUser(user).build();
+    }
+}
@@ -0,0 +1,69 @@
+package org.jenkinsci.plugins.github.webhook;
+
+import com.cloudbees.plugins.credentials.CredentialsScope;
+import com.cloudbees.plugins.credentials.SystemCredentialsProvider;
+import com.cloudbees.plugins.credentials.domains.Domain;
+import hudson.security.ACL;
+import hudson.security.ACLContext;
+import hudson.util.Secret;
+import org.apache.commons.codec.binary.Hex;
+import org.jenkinsci.plugins.github.GitHubPlugin;
+import org.jenkinsci.plugins.github.config.HookSecretConfig;
+import org.jenkinsci.plugins.plaincredentials.impl.StringCredentialsImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+import org.jvnet.hudson.test.junit.jupiter.WithJenkins;
+
+import javax.crypto.Mac;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.jenkinsci.plugins.github.test.HookSecretHelper.storeSecret;
+import static org.jenkinsci.plugins.github.webhook.GHWebhookSignature.webhookSignature;
+
+@WithJenkins
+class HookSecretMacsTest {
+    private static final String PAYLOAD = "sample payload";
+
+    private HookSecretConfig config;
+
+    @BeforeEach
+    void setUp(JenkinsRule rule) {
+        storeSecret("secret");
+        config = GitHubPlugin.configuration().getHookSecretConfigs().get(0);
+    }
+
+    @Test
+    void shouldGiveSeparateMacsWithSameKey() {
+        Mac first = HookSecretMacs.macFor(config);
+        Mac second = HookSecretMacs.macFor(config);
+
+        assertThat("each caller gets own instance", first, not(sameInstance(second)));
+        assertThat("signature", sign(first), equalTo(webhookSignature(PAYLOAD, Secret.fromString("secret")).sha256()));
+        assertThat("same signature", sign(second), equalTo(sign(HookSecretMacs.macFor(config))));
+    }
+
+    @Test
+    void shouldFollowCredentialsChange() throws Exception {
+        sign(HookSecretMacs.macFor(config));
+
+        SystemCredentialsProvider.StoreImpl store = new SystemCredentialsProvider.StoreImpl();
+        StringCredentialsImpl updated = new StringCredentialsImpl(
+                CredentialsScope.GLOBAL, config.getCredentialsId(), null, Secret.fromString("rotated")
+        );
+        try (ACLContext ignored = ACL.as2(ACL.SYSTEM2)) {
+            store.updateCredentials(Domain.global(), store.getCredentials(Domain.global()).get(0), updated);
+        }
+
+        assertThat("signature with new secret", sign(HookSecretMacs.macFor(config)),
+                equalTo(webhookSignature(PAYLOAD, Secret.fromString("rotated")).sha256()));
+    }
+
+    private static String sign(Mac mac) {
+        return Hex.encodeHexString(mac.doFinal(PAYLOAD.getBytes(UTF_8)));
+    }
+}
@@ -0,0 +1,58 @@
+package org.jenkinsci.plugins.github.webhook;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.jenkinsci.plugins.github.config.HookSecretConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class HookSecretSelectorTest {
+
+    private HookSecretConfig first;
+    private HookSecretConfig second;
+    private HookSecretConfig legacy;
+    private List<HookSecretConfig> configs;
+
+    @BeforeEach
+    void setUp() {
+        first = secretConfig("first", SignatureAlgorithm.SHA256);
+        second = secretConfig("second", SignatureAlgorithm.SHA256);
+        legacy = secretConfig("legacy", SignatureAlgorithm.SHA1);
+        configs = Arrays.asList(first, second, legacy);
+    }
+
+    @Test
+    void shouldSkipSecretsWithoutSignatureHeader() {
+        assertThat(HookSecretSelector.candidates(delivery(null), configs), contains(first, second));
+    }
+
+    @Test
+    void shouldPreferSecretWhichVerifiedSameHook() {
+        HookSecretSelector.matched(delivery("1"), second);
+        HookSecretSelector.matched(delivery("2"), first);
+
+        assertThat("same hook", HookSecretSelector.candidates(delivery("1"), configs), contains(second, first));
+        assertThat("last successful", HookSecretSelector.candidates(delivery("3"), configs), contains(first, second));
+    }
+
+    private static HttpServletRequest delivery(String hookId) {
+        HttpServletRequest req = mock(HttpServletRequest.class);
+        when(req.getHeader(SignatureAlgorithm.SHA256.getHeaderName())).thenReturn("sha256=any");
+        when(req.getHeader(HookSecretSelector.HOOK_ID_HEADER)).thenReturn(hookId);
+        return req;
+    }
+
+    private static HookSecretConfig secretConfig(String credentialsId, SignatureAlgorithm algorithm) {
+        HookSecretConfig config = mock(HookSecretConfig.class);
+        when(config.getCredentialsId()).thenReturn("selector-test-" + credentialsId);
+        when(config.getSignatureAlgorithm()).thenReturn(algorithm);
+        return config;
+    }
+}
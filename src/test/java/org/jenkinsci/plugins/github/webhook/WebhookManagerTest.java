@@ -3,6 +3,7 @@ package org.jenkinsci.plugins.github.webhook;
 import com.cloudbees.jenkins.GitHubPushTrigger;
 import com.cloudbees.jenkins.GitHubRepositoryName;
 import com.google.common.base.Predicate;
+import com.google.common.base.Predicates;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
@@ -33,6 +34,7 @@ import java.net.URL;
 import java.util.Collections;
 import java.util.EnumSet;
 import java.util.Map;
+import java.util.Set;
 
 import static com.google.common.collect.ImmutableList.copyOf;
 import static com.google.common.collect.Lists.asList;
@@ -177,6 +179,24 @@ public class WebhookManagerTest {
         verify(manager).createWebhook(HOOK_ENDPOINT, EnumSet.copyOf(newArrayList(CREATE, PULL_REQUEST, PUSH)));
     }
 
+    @Test
+    void shouldEditExistingHookInsteadOfReplacing() throws IOException {
+        doReturn(newArrayList(repo)).when(nonactive).resolve(any(Predicate.class));
+        when(repo.hasAdminAccess()).thenReturn(true);
+        Predicate<GHHook> del = spy(Predicate.class);
+        when(manager.deleteWebhook()).thenReturn(del);
+        doReturn(Predicates.<GHHook>alwaysTrue()).when(manager).editWebhook(anyString(), anySet());
+
+        GHHook hook = hook(HOOK_ENDPOINT, CREATE);
+        GHHook prhook = hook(HOOK_ENDPOINT, PULL_REQUEST);
+        when(repo.getHooks()).thenReturn(newArrayList(hook, prhook));
+
+        manager.createHookSubscribedTo(copyOf(newArrayList(PUSH))).apply(nonactive);
+        verify(manager).editWebhook("github.com", EnumSet.copyOf(newArrayList(CREATE, PULL_REQUEST, PUSH)));
+        verify(del, times(1)).apply(any(GHHook.class));
+        verify(manager, never()).createWebhook(any(URL.class), anySet());
+    }
+
     @Test
     void shouldNotReplaceAlreadyRegisteredHook() throws IOException {
         doReturn(newArrayList(repo)).when(nonactive).resolve(any(Predicate.class));
@@ -205,6 +225,91 @@ public class WebhookManagerTest {
     }
 
 
+    @Test
+    void shouldSkipGitHubCallsForKnownHook() throws IOException {
+        HookStateCache.get().record(nonactive, 1L, HOOK_ENDPOINT, newArrayList(PUSH, CREATE));
+
+        manager.createHookSubscribedTo(copyOf(newArrayList(PUSH))).apply(nonactive);
+        verify(nonactive, never()).resolve(any(Predicate.class));
+        verify(manager, never()).fetchHooks();
+    }
+
+    @Test
+    void shouldCheckKnownHookOnGitHubWhenForced() throws IOException {
+        HookStateCache.get().record(nonactive, 1L, HOOK_ENDPOINT, newArrayList(PUSH));
+        doReturn(newArrayList(repo)).when(nonactive).resolve(any(Predicate.class));
+        when(repo.hasAdminAccess()).thenReturn(true);
+        when(repo.getHooks()).thenReturn(Collections.<GHHook>emptyList());
+
+        manager.createHookFor(nonactive, newArrayList(PUSH), true);
+        verify(manager).createWebhook(HOOK_ENDPOINT, EnumSet.of(PUSH));
+    }
+
+    @Test
+    void shouldForgetKnownHookOnFailure() throws IOException {
+        HookStateCache.get().record(nonactive, 1L, HOOK_ENDPOINT, newArrayList(PUSH));
+        doReturn(newArrayList(repo)).when(nonactive).resolve(any(Predicate.class));
+        when(repo.hasAdminAccess()).thenReturn(true);
+        when(repo.getHooks()).thenThrow(new IOException("boom"));
+
+        manager.createHookSubscribedTo(copyOf(newArrayList(PUSH, CREATE))).apply(nonactive);
+        assertThat("forgotten", HookStateCache.get().hookId(nonactive), nullValue());
+    }
+
+    @Test
+    void shouldDeleteRepositoryHookWhenMovedToOrganizationHook() throws IOException {
+        GitHubServerConfig conf = new GitHubServerConfig("");
+        conf.setHookOrganizations("dummy");
+        GitHubPlugin.configuration().getConfigs().add(conf);
+        HookStateCache.get().record(nonactive, 1L, HOOK_ENDPOINT, newArrayList(PUSH));
+        HookStateCache.get().recordOrganization("github.com", "dummy", 2L, HOOK_ENDPOINT, EnumSet.allOf(GHEvent.class));
+        doReturn(newArrayList(repo)).when(nonactive).resolve(any(Predicate.class));
+        when(repo.hasAdminAccess()).thenReturn(true);
+        Predicate<GHHook> del = spy(Predicate.class);
+        when(manager.deleteWebhook()).thenReturn(del);
+
+        GHHook hook = hook(HOOK_ENDPOINT, PUSH);
+        when(repo.getHooks()).thenReturn(newArrayList(hook));
+
+        manager.createHookSubscribedTo(copyOf(newArrayList(PUSH))).apply(nonactive);
+        verify(del).apply(hook);
+        verify(manager, never()).createWebhook(any(URL.class), anySet());
+        assertThat("repo hook forgotten", HookStateCache.get().hookId(nonactive), nullValue());
+    }
+
+    @Test
+    void shouldNotCheckOrganizationHookAgainInSameReRegistration() throws IOException {
+        GitHubServerConfig conf = new GitHubServerConfig("");
+        conf.setHookOrganizations("dummy");
+        GitHubPlugin.configuration().getConfigs().add(conf);
+        long startedAt = System.currentTimeMillis();
+        HookStateCache.get().recordOrganization("github.com", "dummy", 2L, HOOK_ENDPOINT, EnumSet.allOf(GHEvent.class));
+        doReturn(newArrayList(repo)).when(nonactive).resolve(any(Predicate.class));
+        when(repo.hasAdminAccess()).thenReturn(true);
+        when(repo.getHooks()).thenReturn(Collections.<GHHook>emptyList());
+
+        GHHook hook = manager.createHookFor(nonactive, newArrayList(PUSH), startedAt);
+        assertThat("organization hook is not changed", hook, nullValue());
+        assertThat("checked in this run", HookStateCache.get().isOrganizationUpToDate("github.com", "dummy",
+                HOOK_ENDPOINT, EnumSet.of(PUSH), startedAt), is(true));
+        assertThat("not checked after", HookStateCache.get().isOrganizationUpToDate("github.com", "dummy",
+                HOOK_ENDPOINT, EnumSet.of(PUSH), Long.MAX_VALUE), is(false));
+        verify(manager).fetchHooks();
+        verify(manager, never()).createWebhook(any(URL.class), anySet());
+    }
+
+    @Test
+    void shouldRememberAlreadyRegisteredHook() throws IOException {
+        doReturn(newArrayList(repo)).when(nonactive).resolve(any(Predicate.class));
+        when(repo.hasAdminAccess()).thenReturn(true);
+
+        GHHook hook = hook(HOOK_ENDPOINT, PUSH);
+        when(repo.getHooks()).thenReturn(newArrayList(hook));
+
+        manager.createHookSubscribedTo(copyOf(newArrayList(PUSH))).apply(nonactive);
+        assertThat("known", HookStateCache.get().isUpToDate(nonactive, HOOK_ENDPOINT, newArrayList(PUSH)), is(true));
+    }
+
     @Test
     void shouldNotAddPushEventByDefaultForProjectWithoutTrigger() throws IOException {
         FreeStyleProject project = jenkins.createFreeStyleProject();
@@ -224,6 +329,25 @@ public class WebhookManagerTest {
         verify(manager).createHookSubscribedTo(newArrayList(PUSH));
     }
 
+    @Test
+    void shouldMergeEventsOfItemsPerRepository() throws IOException {
+        FreeStyleProject first = jenkins.createFreeStyleProject();
+        first.addTrigger(new GitHubPushTrigger());
+        first.setScm(GIT_SCM);
+        FreeStyleProject second = jenkins.createFreeStyleProject();
+        second.addTrigger(new GitHubPushTrigger());
+        second.setScm(GIT_SCM);
+        FreeStyleProject withoutTrigger = jenkins.createFreeStyleProject();
+        withoutTrigger.setScm(new GitSCM("ssh://git@github.com/dummy/other.git"));
+
+        Map<GitHubRepositoryName, Set<GHEvent>> events =
+                WebhookManager.eventsByRepository(newArrayList(first, second, withoutTrigger));
+
+        assertThat("only repo with events", events.size(), is(1));
+        assertThat(events, hasEntry(new GitHubRepositoryName("github.com", "dummy", "dummy"),
+                (Set<GHEvent>) EnumSet.of(PUSH)));
+    }
+
     @Test
     void shouldReturnNullOnGettingEmptyEventsListToSubscribe() throws IOException {
         doReturn(newArrayList(repo)).when(active).resolve(any(Predicate.class));
@@ -0,0 +1,106 @@
+package org.jenkinsci.plugins.github.webhook;
+
+import hudson.util.Secret;
+import jakarta.servlet.http.HttpServletRequest;
+import org.apache.commons.lang3.StringUtils;
+import org.jenkinsci.plugins.github.config.HookSecretConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+import org.jvnet.hudson.test.junit.jupiter.WithJenkins;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Map;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasKey;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.jenkinsci.plugins.github.webhook.GHWebhookSignature.webhookSignature;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@WithJenkins
+class WebhookPayloadReaderTest {
+    private static final String PAYLOAD =
+            "{\"zen\":\"" + StringUtils.repeat("Keep it logically awesome. ", 1000) + "\"}";
+
+    private Secret secret;
+    private HookSecretConfig sha256;
+    private HookSecretConfig sha1;
+    private HttpServletRequest req;
+
+    @BeforeEach
+    void setUp(JenkinsRule rule) {
+        secret = Secret.fromString("secret");
+        sha256 = secretConfig(SignatureAlgorithm.SHA256);
+        sha1 = secretConfig(SignatureAlgorithm.SHA1);
+        req = mock(HttpServletRequest.class);
+        when(req.getHeader(SignatureAlgorithm.SHA256.getHeaderName())).thenReturn("sha256=any");
+    }
+
+    @Test
+    void shouldDigestPayloadWhileReading() throws Exception {
+        for (long contentLength : new long[]{PAYLOAD.length(), -1, 10}) {
+            WebhookPayloadReader reader = WebhookPayloadReader.forRequest(req, Arrays.asList(sha256, sha1));
+
+            String payload = reader.read(new ByteArrayInputStream(PAYLOAD.getBytes(UTF_8)), contentLength);
+            Map<HookSecretConfig, String> digests = reader.digests();
+
+            assertThat("payload with length " + contentLength, payload, equalTo(PAYLOAD));
+            assertThat("digest with length " + contentLength, digests.get(sha256),
+                    equalTo(webhookSignature(PAYLOAD, secret).sha256()));
+            assertThat("no header - no digest", digests, not(hasKey(sha1)));
+        }
+    }
+
+    @Test
+    void shouldNotTrustDeclaredContentLength() throws Exception {
+        WebhookPayloadReader reader = WebhookPayloadReader.forRequest(req, Arrays.asList(sha256, sha1));
+
+        String payload = reader.read(new ByteArrayInputStream("{}".getBytes(UTF_8)),
+                WebhookPayloadReader.MAX_PAYLOAD_BYTES);
+
+        assertThat("tiny payload with huge length", payload, equalTo("{}"));
+    }
+
+    @Test
+    void shouldRejectTooLongPayload() {
+        WebhookPayloadReader reader = WebhookPayloadReader.forRequest(req, Arrays.asList(sha256, sha1));
+
+        assertThrows(IOException.class, () -> reader.read(new ByteArrayInputStream(new byte[0]),
+                WebhookPayloadReader.MAX_PAYLOAD_BYTES + 1L));
+        assertThrows(IOException.class, () -> reader.read(endless(), -1));
+    }
+
+    /**
+     * Stream of spaces which never ends
+     */
+    private static InputStream endless() {
+        return new InputStream() {
+            @Override
+            public int read() {
+                return ' ';
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) {
+                Arrays.fill(b, off, off + len, (byte) ' ');
+                return len;
+            }
+        };
+    }
+
+    private HookSecretConfig secretConfig(SignatureAlgorithm algorithm) {
+        HookSecretConfig config = mock(HookSecretConfig.class);
+        when(config.getCredentialsId()).thenReturn("reader-test-" + algorithm);
+        when(config.getSignatureAlgorithm()).thenReturn(algorithm);
+        when(config.getHookSecret()).thenReturn(secret);
+        return config;
+    }
+}
@@ -6,9 +6,11 @@ import com.cloudbees.jenkins.GitHubTriggerEvent;
 import hudson.ExtensionList;
 import hudson.model.FreeStyleProject;
 import hudson.model.Item;
+import hudson.model.listeners.ItemListener;
 import hudson.plugins.git.GitSCM;
 import jenkins.model.Jenkins;
 import org.jenkinsci.plugins.github.extension.GHSubscriberEvent;
+import org.jenkinsci.plugins.github.internal.GitHubRepositoryJobIndex;
 import org.jenkinsci.plugins.workflow.cps.CpsFlowDefinition;
 import org.jenkinsci.plugins.workflow.job.WorkflowJob;
 import org.junit.jupiter.api.BeforeEach;
@@ -75,12 +77,18 @@ public class DefaultPushGHEventListenerTest {
         when(prj.getTriggers()).thenReturn(
                 Collections.singletonMap(new GitHubPushTrigger.DescriptorImpl(), trigger));
         when(prj.getSCMs()).thenAnswer(unused -> Collections.singletonList(GIT_SCM_FROM_RESOURCE));
+        when(prj.getFullName()).thenReturn("prj");
 
         GHSubscriberEvent subscriberEvent =
                 new GHSubscriberEvent("shouldParsePushPayload", GHEvent.PUSH, classpath("payloads/push.json"));
 
         Jenkins jenkins = mock(Jenkins.class);
         when(jenkins.getAllItems(Item.class)).thenReturn(Collections.singletonList(prj));
+        when(jenkins.getItemByFullName("prj", Item.class)).thenReturn(prj);
+
+        ExtensionList<ItemListener> listeners = mock(ExtensionList.class);
+        when(listeners.get(GitHubRepositoryJobIndex.class)).thenReturn(new GitHubRepositoryJobIndex());
+        when(jenkins.getExtensionList(ItemListener.class)).thenReturn(listeners);
 
         ExtensionList<GitHubRepositoryNameContributor> extensionList = mock(ExtensionList.class);
         List<GitHubRepositoryNameContributor> gitHubRepositoryNameContributorList =